@@ -0,0 +1,93 @@
+package com.example.asset_management.benchmark;
+
+import com.example.asset_management.AssetManagementApplication;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.Asset.AssetStatus;
+import com.example.asset_management.model.AssetCategory;
+import com.example.asset_management.model.Role;
+import com.example.asset_management.model.User;
+import com.example.asset_management.repository.AssetCategoryRepository;
+import com.example.asset_management.repository.AssetRepository;
+import com.example.asset_management.repository.RoleRepository;
+import com.example.asset_management.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against in-memory H2 with the mock Kafka producer and seeds a dataset
+ * of the requested size. Shared by all benchmarks.
+ */
+public final class BenchmarkContext {
+
+    public static final String USERNAME = "bench.user";
+    private static final int CATEGORY_COUNT = 20;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts the application, with any extra properties given as {@code key=value}.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(AssetManagementApplication.class)
+                .profiles("docker", "benchmark")
+                .properties(properties)
+                .logStartupInfo(false)
+                .run();
+    }
+
+    /**
+     * Creates one active user, a fixed set of categories and {@code assetCount} available assets.
+     */
+    public static List<Asset> seed(ConfigurableApplicationContext context, int assetCount) {
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        AssetCategoryRepository categoryRepository = context.getBean(AssetCategoryRepository.class);
+        AssetRepository assetRepository = context.getBean(AssetRepository.class);
+
+        Role role = new Role();
+        role.setName("EMPLOYEE");
+        role.setCreatedAt(LocalDateTime.now());
+        role = roleRepository.save(role);
+
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setEmail(USERNAME + "@example.com");
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        user.setPasswordHash("{noop}unused");
+        user.setRoleId(role.getId());
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        userRepository.save(user);
+
+        List<AssetCategory> categories = new ArrayList<>(CATEGORY_COUNT);
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            AssetCategory category = new AssetCategory();
+            category.setName("Category " + i);
+            category.setCreatedAt(LocalDateTime.now());
+            categories.add(category);
+        }
+        categories = categoryRepository.saveAll(categories);
+
+        List<Asset> assets = new ArrayList<>(assetCount);
+        for (int i = 0; i < assetCount; i++) {
+            Asset asset = new Asset();
+            asset.setAssetTag(String.format("BENCH-%07d", i));
+            asset.setName("Benchmark asset " + i);
+            asset.setDescription("Seeded for benchmarks");
+            asset.setCategoryId(categories.get(i % CATEGORY_COUNT).getId());
+            asset.setStatus(AssetStatus.available);
+            asset.setPurchaseDate(LocalDate.now().minusYears(1));
+            asset.setWarrantyExpiry(LocalDate.now().plusYears(2));
+            asset.setCreatedAt(LocalDateTime.now());
+            assets.add(asset);
+        }
+        return assetRepository.saveAll(assets);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.asset_management.benchmark;
+
+import com.example.asset_management.dto.AssetAssignmentRequest;
+import com.example.asset_management.dto.AssetLoanResponse;
+import com.example.asset_management.dto.AssetReturnRequest;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.service.AssetLoanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns and returns an asset through the transactional service layer, including outbox
+ * writes and WebSocket notifications. Each invocation is a full round trip so the asset is
+ * available again for the next one; assets are cycled so the loan table grows evenly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanFlowBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private AssetLoanService assetLoanService;
+    private List<Asset> assets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        assets = BenchmarkContext.seed(context, datasetSize);
+        assetLoanService = context.getBean(AssetLoanService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AssetLoanResponse assignAndReturn() {
+        Long assetId = assets.get(next++ % assets.size()).getId();
+
+        AssetAssignmentRequest assignment = new AssetAssignmentRequest();
+        assignment.setAssetId(assetId);
+        // Within the approval threshold, so the loan is active immediately
+        assignment.setDueAt(LocalDateTime.now().plusDays(1));
+        assetLoanService.assignAsset(assignment, BenchmarkContext.USERNAME);
+
+        AssetReturnRequest returnRequest = new AssetReturnRequest();
+        returnRequest.setAssetId(assetId);
+        return assetLoanService.returnAsset(returnRequest, BenchmarkContext.USERNAME);
+    }
+}
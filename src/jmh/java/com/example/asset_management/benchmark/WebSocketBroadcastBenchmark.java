@@ -0,0 +1,205 @@
+package com.example.asset_management.benchmark;
+
+import com.example.asset_management.dto.NotificationMessage;
+import com.example.asset_management.service.WebSocketNotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for manager broadcasts: opens a few thousand STOMP sessions subscribed to the manager
+ * topic, some of which never read from their socket (a client on a stalled network), and measures
+ * how long a burst of broadcasts takes to reach every healthy session. Without backpressure the
+ * stalled sessions hold outbound threads and this time grows with their number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class WebSocketBroadcastBenchmark {
+
+    private static final String ENDPOINT = "/api/ws/websocket";
+
+    @Param({"1000", "3000"})
+    private int sessions;
+
+    @Param({"0", "5"})
+    private int stalledPercent;
+
+    @Param({"20"})
+    private int burstSize;
+
+    private ConfigurableApplicationContext context;
+    private WebSocketNotificationService webSocketNotificationService;
+    private WebSocketStompClient stompClient;
+    private final List<StompSession> healthySessions = new ArrayList<>();
+    private final List<Socket> stalledSockets = new ArrayList<>();
+    private volatile BurstTracker tracker = new BurstTracker("", 0);
+    private int burst;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        webSocketNotificationService = context.getBean(WebSocketNotificationService.class);
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+        int stalled = sessions * stalledPercent / 100;
+        for (int i = 0; i < stalled; i++) {
+            stalledSockets.add(openStalledSession(port));
+        }
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        List<CompletableFuture<StompSession>> connecting = new ArrayList<>();
+        for (int i = 0; i < sessions - stalled; i++) {
+            connecting.add(stompClient.connectAsync("ws://localhost:" + port + ENDPOINT, new StompSessionHandlerAdapter() {
+            }));
+        }
+        for (CompletableFuture<StompSession> future : connecting) {
+            StompSession session = future.get(30, TimeUnit.SECONDS);
+            session.subscribe(WebSocketNotificationService.MANAGER_TOPIC, new BurstFrameHandler());
+            healthySessions.add(session);
+        }
+        // Let the subscriptions reach the broker before measuring
+        Thread.sleep(2000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        healthySessions.forEach(StompSession::disconnect);
+        for (Socket socket : stalledSockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Closing anyway
+            }
+        }
+        stompClient.stop();
+        context.close();
+    }
+
+    @Benchmark
+    public long broadcastBurst() throws InterruptedException {
+        String marker = "burst-" + (++burst) + "-";
+        BurstTracker current = new BurstTracker(marker, healthySessions.size() * burstSize);
+        tracker = current;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < burstSize; i++) {
+            webSocketNotificationService.sendNotificationToManagers(NotificationMessage.builder()
+                    .type("APPROVAL_REQUEST")
+                    .title(marker + i)
+                    .message("Load test broadcast")
+                    .build());
+        }
+        if (!current.received.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(current.received.getCount() + " broadcasts never reached a healthy session");
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Connects and subscribes over a raw socket with a tiny receive buffer and then never reads,
+     * so the server's writes to it back up the way they do for a client on a dead network.
+     */
+    private Socket openStalledSession(int port) throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(1024);
+        socket.connect(new java.net.InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+
+        byte[] nonce = new byte[16];
+        ThreadLocalRandom.current().nextBytes(nonce);
+        out.write(("GET " + ENDPOINT + " HTTP/1.1\r\n" +
+                "Host: localhost:" + port + "\r\n" +
+                "Upgrade: websocket\r\n" +
+                "Connection: Upgrade\r\n" +
+                "Sec-WebSocket-Key: " + Base64.getEncoder().encodeToString(nonce) + "\r\n" +
+                "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        skipHandshakeResponse(socket.getInputStream());
+
+        writeTextFrame(out, "CONNECT\naccept-version:1.2\nheart-beat:0,0\n\n\0");
+        writeTextFrame(out, "SUBSCRIBE\nid:0\ndestination:" + WebSocketNotificationService.MANAGER_TOPIC + "\n\n\0");
+        out.flush();
+        return socket;
+    }
+
+    private static void skipHandshakeResponse(InputStream in) throws IOException {
+        int matched = 0;
+        byte[] end = {'\r', '\n', '\r', '\n'};
+        while (matched < end.length) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Connection closed during WebSocket handshake");
+            }
+            matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+    }
+
+    // Client frames must be masked; payloads here are always under 126 bytes
+    private static void writeTextFrame(OutputStream out, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        byte[] mask = new byte[4];
+        ThreadLocalRandom.current().nextBytes(mask);
+        out.write(0x81);
+        out.write(0x80 | payload.length);
+        out.write(mask);
+        for (int i = 0; i < payload.length; i++) {
+            out.write(payload[i] ^ mask[i % 4]);
+        }
+    }
+
+    private final class BurstFrameHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            BurstTracker current = tracker;
+            if (new String((byte[]) payload, StandardCharsets.UTF_8).contains(current.marker)) {
+                current.received.countDown();
+            }
+        }
+    }
+
+    private record BurstTracker(String marker, CountDownLatch received) {
+        private BurstTracker(String marker, int expected) {
+            this(marker, new CountDownLatch(expected));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.benchmark.BenchmarkContext;
+import com.example.asset_management.dto.AssetResponse;
+import com.example.asset_management.model.Asset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps an already-loaded list of assets to responses, including category name resolution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssetMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private List<Asset> assets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        assets = BenchmarkContext.seed(context, datasetSize);
+        assetService = AopTestUtils.getUltimateTargetObject(context.getBean(AssetService.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AssetResponse> mapToAssetResponses() {
+        return assetService.mapToAssetResponses(assets);
+    }
+}
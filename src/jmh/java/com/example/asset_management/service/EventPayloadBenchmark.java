@@ -0,0 +1,71 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.benchmark.BenchmarkContext;
+import com.example.asset_management.dto.KafkaEventPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a loan event envelope and serializes it with the application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPayloadBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private KafkaEventService kafkaEventService;
+    private ObjectMapper objectMapper;
+    private long loanId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        kafkaEventService = AopTestUtils.getUltimateTargetObject(context.getBean(KafkaEventService.class));
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String createAndSerializePayload() throws JsonProcessingException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("loanId", ++loanId);
+        data.put("assetId", 42L);
+        data.put("userId", 7L);
+        data.put("assignedById", 7L);
+        data.put("dueAt", LocalDateTime.now().plusDays(7));
+        data.put("status", "loaned");
+        data.put("username", BenchmarkContext.USERNAME);
+        data.put("assetName", "Benchmark asset");
+        data.put("assetTag", "BENCH-0000042");
+
+        KafkaEventPayload payload = kafkaEventService.createEventPayload("AssetAssigned", "ASSET_LOAN", loanId, data);
+        return objectMapper.writeValueAsString(payload);
+    }
+}
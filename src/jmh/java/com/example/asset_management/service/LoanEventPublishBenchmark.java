@@ -0,0 +1,185 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.JacksonConfig;
+import com.example.asset_management.dto.KafkaEventPayload;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.OutboxEvent;
+import com.example.asset_management.model.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays one loan transition to an embedded Kafka broker, either as the single canonical record
+ * KafkaEventService now produces or the way it used to: the event to assets.events and
+ * realtime.updates plus a notification copy to notifications.email and notifications.push, each
+ * serialized separately. Each invocation waits for the broker's acknowledgement. Run with
+ * {@code -prof gc} for producer-side allocation; the records and bytes the producer sent per
+ * transition are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoanEventPublishBenchmark {
+
+    private static final String[] TOPICS = {"assets.events", "realtime.updates", "notifications.email", "notifications.push"};
+
+    @Param({"canonical", "legacy"})
+    private String layout;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaEventService kafkaEventService;
+    private ObjectMapper objectMapper;
+    private Map<Long, User> users;
+    private Map<Long, Asset> assets;
+    private OutboxEvent outboxEvent;
+    private long transitions;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPICS);
+        broker.afterPropertiesSet();
+
+        // Same reliability settings as KafkaProducerConfig
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        objectMapper = new JacksonConfig().objectMapper();
+        kafkaEventService = new KafkaEventService(kafkaTemplate, objectMapper, new SimpleMeterRegistry());
+
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("bench.user");
+        user.setEmail("bench.user@example.com");
+        user.setFirstName("Bench");
+        user.setLastName("User");
+        users = Map.of(7L, user);
+
+        Asset asset = new Asset();
+        asset.setId(42L);
+        asset.setName("Benchmark asset");
+        asset.setAssetTag("BENCH-0000042");
+        assets = Map.of(42L, asset);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("loanId", 1L);
+        payload.put("assetId", 42L);
+        payload.put("userId", 7L);
+        payload.put("assignedById", 7L);
+        payload.put("dueAt", LocalDateTime.now().plusDays(7));
+        payload.put("assignedAt", LocalDateTime.now());
+        payload.put("status", "loaned");
+
+        outboxEvent = new OutboxEvent();
+        outboxEvent.setId(1L);
+        outboxEvent.setAggregateType("ASSET_LOAN");
+        outboxEvent.setAggregateId(1L);
+        outboxEvent.setEventType("AssetAssigned");
+        outboxEvent.setPayloadJson(objectMapper.writeValueAsString(payload));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+
+        // Connect and fetch metadata outside the measurement
+        kafkaTemplate.send(TOPICS[0], "warmup").get(30, TimeUnit.SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double records = producerMetric("record-send-total") - 1;
+        double bytes = producerMetric("outgoing-byte-total");
+        System.out.printf("%n[%s] %d transitions: %.2f records and %.0f bytes sent per transition%n",
+                layout, transitions, records / transitions, bytes / transitions);
+
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public void relayTransition() throws Exception {
+        outboxEvent.setId(++transitions);
+        CompletableFuture<?> sent = "canonical".equals(layout)
+                ? kafkaEventService.publishOutboxEvent(outboxEvent, users, assets)
+                : publishLegacy(outboxEvent);
+        sent.get(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The routing the relay did before the canonical event: four records, four serializations.
+     */
+    private CompletableFuture<Void> publishLegacy(OutboxEvent event) throws Exception {
+        Map<String, Object> data = objectMapper.readValue(event.getPayloadJson(), new TypeReference<Map<String, Object>>() {});
+        User user = users.get(((Number) data.get("userId")).longValue());
+        Asset asset = assets.get(((Number) data.get("assetId")).longValue());
+        data.put("username", user.getUsername());
+        data.put("assetName", asset.getName());
+        data.put("assetTag", asset.getAssetTag());
+
+        KafkaEventPayload eventPayload = kafkaEventService.createEventPayload(
+                event.getEventType(), event.getAggregateType(), event.getAggregateId(), data);
+        eventPayload.setEventId("outbox-" + event.getId());
+
+        Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put("recipientEmail", user.getEmail());
+        notificationData.put("recipientName", user.getFirstName() + " " + user.getLastName());
+        notificationData.put("assetName", asset.getName());
+        notificationData.put("assetTag", asset.getAssetTag());
+        notificationData.put("dueAt", data.get("dueAt"));
+        notificationData.put("eventType", event.getEventType());
+        KafkaEventPayload notificationPayload = kafkaEventService.createEventPayload(
+                "NotificationRequest", "NOTIFICATION", event.getAggregateId(), notificationData);
+        notificationPayload.setEventId("outbox-" + event.getId() + "-notification");
+
+        String eventKey = eventPayload.getAggregateType() + "-" + eventPayload.getAggregateId();
+        String notificationKey = notificationPayload.getAggregateType() + "-" + notificationPayload.getAggregateId();
+        return CompletableFuture.allOf(
+                kafkaTemplate.send("assets.events", eventKey, objectMapper.writeValueAsString(eventPayload)),
+                kafkaTemplate.send("realtime.updates", eventKey, objectMapper.writeValueAsString(eventPayload)),
+                kafkaTemplate.send("notifications.email", notificationKey, objectMapper.writeValueAsString(notificationPayload)),
+                kafkaTemplate.send("notifications.push", notificationKey, objectMapper.writeValueAsString(notificationPayload)));
+    }
+
+    private double producerMetric(String name) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : kafkaTemplate.metrics().entrySet()) {
+            if (metric.getKey().name().equals(name) && metric.getKey().group().equals("producer-metrics")) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        return 0;
+    }
+}
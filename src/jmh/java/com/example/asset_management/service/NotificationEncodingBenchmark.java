@@ -0,0 +1,85 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.JacksonConfig;
+import com.example.asset_management.dto.NotificationMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-recipient cost of pushing one notification to many users: converting it for every user,
+ * as convertAndSendToUser does, against encoding it once and sending the shared message. Sends
+ * go to a channel that discards them, so only conversion and message building are measured.
+ * Run with -Djmh.args="NotificationEncoding -prof gc" and compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationEncodingBenchmark {
+
+    private static final int RECIPIENTS = 1000;
+
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketNotificationService webSocketNotificationService;
+    private NotificationMessage notification;
+    private String[] usernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new JacksonConfig().objectMapper());
+
+        messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        messagingTemplate.setMessageConverter(converter);
+        // Encoding needs neither the user registry nor Kafka
+        webSocketNotificationService = new WebSocketNotificationService(
+                messagingTemplate, converter.getObjectMapper(), null, null);
+
+        notification = NotificationMessage.builder()
+                .type("APPROVAL_REQUEST")
+                .title("New Approval Request")
+                .message("bench.user has requested approval for Benchmark asset 42")
+                .data(Map.of("requesterName", "bench.user", "assetName", "Benchmark asset 42"))
+                .build();
+
+        usernames = new String[RECIPIENTS];
+        for (int i = 0; i < RECIPIENTS; i++) {
+            usernames[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void convertPerRecipient() {
+        for (String username : usernames) {
+            messagingTemplate.convertAndSendToUser(username, WebSocketNotificationService.USER_QUEUE, notification);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void encodeOnce() {
+        Message<byte[]> encoded = webSocketNotificationService.encode(notification);
+        for (String username : usernames) {
+            messagingTemplate.send("/user/" + username + WebSocketNotificationService.USER_QUEUE, encoded);
+        }
+    }
+}
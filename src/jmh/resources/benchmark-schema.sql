@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    job_name VARCHAR(100) NOT NULL,
+    partition_no INT NOT NULL,
+    owner_id VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL,
+    last_run_key VARCHAR(64) NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_name, partition_no)
+);
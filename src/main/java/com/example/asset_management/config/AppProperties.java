@@ -11,6 +11,8 @@ public class AppProperties {
     
     private Loan loan = new Loan();
     private Notification notification = new Notification();
+    private Pagination pagination = new Pagination();
+    private Outbox outbox = new Outbox();
     
     @Data
     public static class Loan {
@@ -23,4 +25,28 @@ public class AppProperties {
         private int maxRetryAttempts = 3;
         private int retryDelaySeconds = 60;
     }
+    
+    @Data
+    public static class Pagination {
+        private int defaultPageSize = 50;
+        private int maxPageSize = 500;
+        
+        /**
+         * The page size for a requested limit: the default when none is given, capped at the max.
+         */
+        public int resolvePageSize(Integer limit) {
+            if (limit == null || limit <= 0) {
+                return defaultPageSize;
+            }
+            return Math.min(limit, maxPageSize);
+        }
+    }
+    
+    @Data
+    public static class Outbox {
+        private int batchSize = 200;
+        private int maxBatchesPerRun = 50;
+        private int sendTimeoutSeconds = 30;
+        private long pollIntervalMs = 2000;
+    }
 }
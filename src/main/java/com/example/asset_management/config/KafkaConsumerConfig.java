@@ -1,14 +1,17 @@
 package com.example.asset_management.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ContainerProperties;
 
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
@@ -20,18 +23,54 @@ import java.util.Map;
 @Profile("!docker")
 public class KafkaConsumerConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${app.kafka.consumer.max-poll-records:10}")
+    private int maxPollRecords;
+
+    @Value("${app.kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${app.kafka.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${app.kafka.consumer.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    public KafkaConsumerConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
+        return instrumented(new DefaultKafkaConsumerFactory<>(consumerProps(maxPollRecords)));
+    }
+
+    @Bean
+    public ConsumerFactory<String, String> batchConsumerFactory() {
+        return instrumented(new DefaultKafkaConsumerFactory<>(consumerProps(batchMaxPollRecords)));
+    }
+
+    // Binds the Kafka client metrics, including records-lag per partition, for every consumer created
+    private ConsumerFactory<String, String> instrumented(DefaultKafkaConsumerFactory<String, String> factory) {
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    private Map<String, Object> consumerProps(int pollRecords) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, pollRecords);
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, 30000);
         props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, 10000);
         
@@ -39,7 +78,7 @@ public class KafkaConsumerConfig {
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, StringDeserializer.class.getName());
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class.getName());
         
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
 
     @Bean
@@ -48,8 +87,39 @@ public class KafkaConsumerConfig {
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
-        factory.setConcurrency(3); // Number of consumer threads
+        factory.setConcurrency(concurrency); // Number of consumer threads
+        applyListenerTaskExecutor(factory, "kafka-listener-");
         
         return factory;
     }
+
+    /**
+     * Delivers each poll as one list; listeners acknowledge once, so offsets are committed per batch.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setConcurrency(batchConcurrency);
+        applyListenerTaskExecutor(factory, "kafka-batch-listener-");
+        
+        return factory;
+    }
+
+    /**
+     * Runs each consumer on a virtual thread when virtual threads are enabled. Boot only does this
+     * for the factory it auto-configures, so the factories here opt in themselves. Concurrency is
+     * unchanged: it still sets how many consumers, and so partitions in parallel, each listener gets.
+     */
+    private void applyListenerTaskExecutor(ConcurrentKafkaListenerContainerFactory<String, String> factory,
+                                           String threadNamePrefix) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
 }
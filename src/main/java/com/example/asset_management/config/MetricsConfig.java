@@ -0,0 +1,159 @@
+package com.example.asset_management.config;
+
+import com.example.asset_management.security.CustomUserDetailsService;
+import com.example.asset_management.service.AssetCategoryCacheService;
+import com.example.asset_management.service.DueDateSweepService;
+import com.example.asset_management.service.DueDateTimerService;
+import com.example.asset_management.service.LoanEventListener;
+import com.example.asset_management.service.NotificationRetentionService;
+import com.example.asset_management.service.OutboxRelayService;
+import com.example.asset_management.service.UnreadCountService;
+import com.example.asset_management.service.WebSocketOutboundMonitor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Application metrics on top of what Actuator binds by itself (JVM, HTTP, Hikari, Kafka
+ * listeners). Everything lands in the in-process Prometheus registry scraped at
+ * /actuator/prometheus; service method timers come from {@link ServiceMetricsAspect}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementCountInterceptor(meterRegistry));
+    }
+
+    @Bean
+    public MeterBinder outboxMetrics(OutboxRelayService outboxRelayService) {
+        return registry -> {
+            Gauge.builder("app.outbox.backlog", outboxRelayService, OutboxRelayService::getBacklog)
+                    .description("Outbox events not yet relayed to Kafka")
+                    .register(registry);
+            Gauge.builder("app.outbox.dead", outboxRelayService, OutboxRelayService::getDeadCount)
+                    .description("Outbox events that exhausted their retries")
+                    .register(registry);
+            Gauge.builder("app.outbox.lag", outboxRelayService, OutboxRelayService::getLagSeconds)
+                    .description("Age of the oldest outbox event awaiting relay")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("app.outbox.sent", outboxRelayService, OutboxRelayService::getTotalSent)
+                    .register(registry);
+            FunctionCounter.builder("app.outbox.failed", outboxRelayService, OutboxRelayService::getTotalFailed)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(AssetCategoryCacheService assetCategoryCacheService,
+                                    CustomUserDetailsService userDetailsService,
+                                    UnreadCountService unreadCountService) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, assetCategoryCacheService.getNativeCache(), "asset-categories");
+            CaffeineCacheMetrics.monitor(registry, userDetailsService.getNativeCache(), CustomUserDetailsService.CACHE_NAME);
+            CaffeineCacheMetrics.monitor(registry, unreadCountService.getNativeCache(), UnreadCountService.CACHE_NAME);
+        };
+    }
+
+    @Bean
+    public MeterBinder schedulerMetrics(DueDateSweepService dueDateSweepService,
+                                        DueDateTimerService dueDateTimerService,
+                                        NotificationRetentionService notificationRetentionService) {
+        return registry -> {
+            FunctionCounter.builder("app.due-date.sweep.overdue-marked", dueDateSweepService,
+                    DueDateSweepService::getTotalOverdueMarked).register(registry);
+            FunctionCounter.builder("app.due-date.sweep.due-soon-queued", dueDateSweepService,
+                    DueDateSweepService::getTotalDueSoonQueued).register(registry);
+            Gauge.builder("app.due-date.sweep.last-duration", dueDateSweepService,
+                    DueDateSweepService::getLastRunDurationMs).baseUnit("milliseconds").register(registry);
+            Gauge.builder("app.due-date.timers.pending", dueDateTimerService,
+                    DueDateTimerService::getPendingTimers).register(registry);
+            FunctionCounter.builder("app.due-date.timers.fired", dueDateTimerService,
+                    DueDateTimerService::getDueSoonFired).tag("kind", "due-soon").register(registry);
+            FunctionCounter.builder("app.due-date.timers.fired", dueDateTimerService,
+                    DueDateTimerService::getOverdueFired).tag("kind", "overdue").register(registry);
+            FunctionCounter.builder("app.notification.retention.purged", notificationRetentionService,
+                    NotificationRetentionService::getTotalPurged).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loanEventMetrics(LoanEventListener loanEventListener) {
+        return registry -> {
+            Gauge.builder("app.loan-events.queue-depth", loanEventListener, LoanEventListener::getQueueDepth)
+                    .description("Loan side effects waiting for the after-commit pool")
+                    .register(registry);
+            FunctionCounter.builder("app.loan-events.handled", loanEventListener, LoanEventListener::getHandledCount)
+                    .register(registry);
+            FunctionCounter.builder("app.loan-events.failed", loanEventListener, LoanEventListener::getFailedCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder webSocketMetrics(SimpUserRegistry simpUserRegistry, WebSocketOutboundMonitor outboundMonitor) {
+        return registry -> {
+            Gauge.builder("app.websocket.sessions", outboundMonitor, WebSocketOutboundMonitor::getSessionCount)
+                    .description("STOMP sessions connected to this node")
+                    .register(registry);
+            Gauge.builder("app.websocket.users", simpUserRegistry, SimpUserRegistry::getUserCount)
+                    .register(registry);
+            Gauge.builder("app.websocket.outbound.queue-depth", outboundMonitor, WebSocketOutboundMonitor::getQueueDepth)
+                    .register(registry);
+            FunctionCounter.builder("app.websocket.outbound.dropped", outboundMonitor, WebSocketOutboundMonitor::getDroppedCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Records how many SQL statements each request made, tagged by its route pattern, so N+1
+     * regressions show up per endpoint.
+     */
+    private static final class StatementCountInterceptor implements HandlerInterceptor {
+
+        private final MeterRegistry meterRegistry;
+
+        private StatementCountInterceptor(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            HibernateStatementCounter.start();
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+            int statements = HibernateStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("app.http.hibernate.statements")
+                    .description("SQL statements prepared by Hibernate per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.asset_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the application's *Service beans as app.service.method, tagged
+ * by class, method and the exception thrown (or "none"), with client-side percentiles. Zero
+ * argument accessors are skipped so metric gauges reading them do not time themselves.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String METRIC_NAME = "app.service.method";
+
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+
+    // Timer lookups by id go through the registry's map anyway; this skips building the id per call
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry,
+                                @Value("${app.metrics.service-percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles;
+    }
+
+    @Around("execution(public * com.example.asset_management..*Service.*(..)) "
+            + "&& !execution(public * *.get*()) && !execution(public * *.is*())")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(joinPoint.getTarget().getClass().getSimpleName(), joinPoint.getSignature().getName(), exception)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String className, String method, String exception) {
+        return timers.computeIfAbsent(className + "#" + method + "#" + exception, key -> Timer.builder(METRIC_NAME)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("exception", exception)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry));
+    }
+}
@@ -1,23 +1,65 @@
 package com.example.asset_management.config;
 
+import com.example.asset_management.service.WebSocketOutboundMonitor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketOutboundMonitor outboundMonitor;
+
+    @Value("${app.websocket.inbound.core-pool-size:4}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.websocket.inbound.max-pool-size:8}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.websocket.inbound.queue-capacity:1000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    public WebSocketConfig(WebSocketOutboundMonitor outboundMonitor) {
+        this.outboundMonitor = outboundMonitor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable simple broker for sending messages to clients
         config.enableSimpleBroker("/topic", "/queue");
-        
+
         // Set prefix for client-to-server messages
         config.setApplicationDestinationPrefixes("/app");
-        
+
         // Set prefix for user-specific messages
         config.setUserDestinationPrefix("/user");
     }
@@ -29,4 +71,46 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*") // Allow all origins for development
                 .withSockJS(); // Enable SockJS fallback
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        channelExecutor(registration, "clientInboundChannel-")
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Bounded so a burst to slow clients cannot grow the queue without limit; the monitor sheds
+        // stale broadcasts and superseded messages before they reach a lagging session
+        channelExecutor(registration, "clientOutboundChannel-")
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        registration.interceptors(outboundMonitor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session whose unsent buffer or blocked send exceeds these limits is closed rather than
+        // left to hold an outbound thread
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    /**
+     * The channel's pool, on virtual threads when they are enabled. The pool and its queue stay
+     * bounded either way, so the backpressure above still applies; a send blocked on a slow session
+     * just no longer holds a platform thread.
+     */
+    private TaskExecutorRegistration channelExecutor(ChannelRegistration registration, String threadNamePrefix) {
+        if (!virtualThreads) {
+            return registration.taskExecutor();
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        return registration.taskExecutor(executor);
+    }
 }
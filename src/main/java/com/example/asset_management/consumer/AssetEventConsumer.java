@@ -5,15 +5,15 @@ import com.example.asset_management.service.NotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -24,20 +24,32 @@ public class AssetEventConsumer {
 
     private final ObjectMapper objectMapper;
     private final NotificationService notificationService;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
-    @KafkaListener(topics = "assets.events", groupId = "asset-management-group")
-    public void handleAssetEvent(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.OFFSET) long offset,
+    @KafkaListener(
+        id = "asset-events",
+        topics = "assets.events",
+        groupId = "asset-management-group",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleAssetEvents(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
+        log.info("Received {} asset events", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, this::processAssetEvent);
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
+    }
+
+    private void processAssetEvent(ConsumerRecord<String, String> record) {
         try {
-            log.info("Received message from topic: {}, partition: {}, offset: {}", topic, partition, offset);
+            log.debug("Processing message from topic: {}, partition: {}, offset: {}", 
+                record.topic(), record.partition(), record.offset());
             
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
+            KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
             
             log.info("Processing asset event: {} for aggregate: {} with ID: {}", 
                 event.getEventType(), event.getAggregateType(), event.getAggregateId());
@@ -59,17 +71,14 @@ public class AssetEventConsumer {
                     log.warn("Unknown asset event type: {}", event.getEventType());
             }
             
-            // Acknowledge successful processing
-            acknowledgment.acknowledge();
-            
         } catch (Exception e) {
-            log.error("Failed to process asset event: {}", message, e);
+            log.error("Failed to process asset event: {}", record.value(), e);
             // Don't acknowledge - message will be retried
             throw new RuntimeException("Asset event processing failed", e);
         }
     }
 
-    @KafkaListener(topics = "assets.dlq", groupId = "asset-management-dlq-processor")
+    @KafkaListener(id = "asset-dlq", topics = "assets.dlq", groupId = "asset-management-dlq-processor")
     public void handleFailedAssetEvent(
         @Payload String message,
         @Headers Map<String, Object> headers,
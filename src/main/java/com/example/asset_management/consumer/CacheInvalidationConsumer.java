@@ -0,0 +1,77 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.dto.KafkaEventPayload;
+import com.example.asset_management.security.CustomUserDetailsService;
+import com.example.asset_management.service.AssetCategoryCacheService;
+import com.example.asset_management.service.UnreadCountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!docker")
+public class CacheInvalidationConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final AssetCategoryCacheService assetCategoryCacheService;
+    private final CustomUserDetailsService userDetailsService;
+    private final UnreadCountService unreadCountService;
+
+    // Node-unique group so every node receives every invalidation; only new messages matter
+    @KafkaListener(
+        id = "cache-invalidation",
+        topics = "cache.invalidation",
+        groupId = "cache-invalidation-#{@assetCategoryCacheService.nodeId}",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleCacheInvalidation(
+        @Payload String message,
+        Acknowledgment acknowledgment
+    ) {
+        try {
+            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
+            Map<String, Object> data = event.getData();
+
+            // Skip broadcasts from this node, it already reloaded locally after commit
+            Object originNodeId = data.get("originNodeId");
+            if ("asset-categories".equals(data.get("cacheName"))
+                    && !assetCategoryCacheService.getNodeId().equals(originNodeId)) {
+                assetCategoryCacheService.reload(event.getAggregateId());
+                log.info("Asset category {} invalidated by node {}", event.getAggregateId(), originNodeId);
+            } else if (CustomUserDetailsService.CACHE_NAME.equals(data.get("cacheName"))
+                    && !userDetailsService.getNodeId().equals(originNodeId)) {
+                userDetailsService.evict(event.getAggregateId());
+                log.info("User {} invalidated by node {}", event.getAggregateId(), originNodeId);
+            } else if (UnreadCountService.CACHE_NAME.equals(data.get("cacheName"))
+                    && !unreadCountService.getNodeId().equals(originNodeId)) {
+                if (data.get("entryIds") instanceof List<?> entryIds) {
+                    // A fan-out sends every recipient in one record
+                    unreadCountService.refreshAll(entryIds.stream()
+                            .map(id -> ((Number) id).longValue())
+                            .toList());
+                    log.debug("Unread counts for {} users changed on node {}", entryIds.size(), originNodeId);
+                } else {
+                    unreadCountService.refresh(event.getAggregateId());
+                    log.debug("Unread count for user {} changed on node {}", event.getAggregateId(), originNodeId);
+                }
+            }
+
+            acknowledgment.acknowledge();
+
+        } catch (Exception e) {
+            log.error("Failed to process cache invalidation: {}", message, e);
+            // Don't acknowledge - message will be retried
+            throw new RuntimeException("Cache invalidation processing failed", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.asset_management.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.KafkaUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Spreads the records of a polled batch across single-threaded lanes chosen by record key
+ * (e.g. ASSET_LOAN-42), so records for different aggregates run in parallel while records for
+ * the same aggregate keep their partition order.
+ * <p>
+ * When a record fails, the container redelivers everything after it, including records other
+ * lanes had already finished. Those are remembered per consumer group and skipped when they come
+ * back, so a retry never repeats their emails, pushes or WebSocket messages.
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+
+    // Long enough to outlast the error handler's retries for one batch
+    private static final Duration COMPLETED_RETENTION = Duration.ofMinutes(10);
+
+    private final ExecutorService[] lanes;
+    private final Cache<RecordId, Boolean> completedBeforeFailure = Caffeine.newBuilder()
+            .expireAfterWrite(COMPLETED_RETENTION)
+            .maximumSize(100_000)
+            .build();
+
+    public KeyOrderedDispatcher(@Value("${app.kafka.consumer.batch.worker-threads:8}") int workerThreads) {
+        this.lanes = new ExecutorService[workerThreads];
+        for (int i = 0; i < workerThreads; i++) {
+            String threadName = "kafka-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs the handler for every record and waits for the batch to finish. If any record fails,
+     * later records with the same key are skipped and a {@link BatchListenerFailedException} for
+     * the earliest failure is thrown, so the container commits everything before it and
+     * redelivers the rest; records after it that did complete are not handled again.
+     */
+    public void dispatch(List<ConsumerRecord<String, String>> records, Consumer<ConsumerRecord<String, String>> handler) {
+        String groupId = Objects.toString(KafkaUtils.getConsumerGroupId(), "");
+        Set<String> failedKeys = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(records.size());
+
+        for (ConsumerRecord<String, String> record : records) {
+            RecordId id = RecordId.of(groupId, record);
+            if (completedBeforeFailure.asMap().remove(id) != null) {
+                futures.add(CompletableFuture.completedFuture(false));
+                continue; // Finished before an earlier failure in its batch
+            }
+
+            ExecutorService lane = lanes[Math.floorMod(Objects.hashCode(record.key()), lanes.length)];
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                String key = Objects.toString(record.key());
+                if (failedKeys.contains(key)) {
+                    return false; // Redelivered after the earlier failure for this key
+                }
+                try {
+                    handler.accept(record);
+                    return true;
+                } catch (RuntimeException e) {
+                    failedKeys.add(key);
+                    throw e;
+                }
+            }, lane));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).join();
+            } catch (CompletionException e) {
+                ConsumerRecord<String, String> failed = records.get(i);
+                log.error("Failed to process record {}-{}@{}", failed.topic(), failed.partition(), failed.offset(), e.getCause());
+                rememberCompleted(groupId, records, futures, i + 1);
+                throw new BatchListenerFailedException("Batch processing failed", e.getCause(), i);
+            }
+        }
+    }
+
+    // Other lanes may still be running; wait for them before the container seeks back, and note
+    // which of the records it is about to redeliver have already been handled
+    private void rememberCompleted(String groupId, List<ConsumerRecord<String, String>> records,
+                                   List<CompletableFuture<Boolean>> futures, int from) {
+        for (int i = from; i < futures.size(); i++) {
+            if (futures.get(i).exceptionally(ex -> false).join()) {
+                completedBeforeFailure.put(RecordId.of(groupId, records.get(i)), Boolean.TRUE);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private record RecordId(String groupId, String topic, int partition, long offset) {
+
+        static RecordId of(String groupId, ConsumerRecord<?, ?> record) {
+            return new RecordId(groupId, record.topic(), record.partition(), record.offset());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.dto.KafkaEventPayload;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Derives the downstream streams from the one canonical loan event published to assets.events.
+ * Each loan transition is produced once; the email, push and realtime consumers read that record
+ * in their own consumer groups and use this router to decide whether it concerns them and what
+ * to act on, instead of the producer writing a copy per stream. The consumers still read the
+ * legacy notifications.email, notifications.push and realtime.updates topics so records produced
+ * before the switch are drained.
+ */
+public final class LoanEventRouter {
+
+    public static final String LOAN_EVENTS_TOPIC = "assets.events";
+
+    private static final String LOAN_AGGREGATE = "ASSET_LOAN";
+    private static final String NOTIFICATION_REQUEST = "NotificationRequest";
+
+    // Loan events that also drive realtime UI updates
+    private static final Set<String> REALTIME_EVENT_TYPES = Set.of("AssetAssigned", "AssetReturned", "AssetRejected");
+
+    private LoanEventRouter() {
+    }
+
+    private static boolean isLoanEvent(KafkaEventPayload event) {
+        return LOAN_AGGREGATE.equals(event.getAggregateType());
+    }
+
+    /**
+     * Whether a record read from {@code topic} feeds the realtime stream. Records still on the
+     * legacy realtime.updates topic were routed when they were produced and always qualify.
+     */
+    public static boolean routesToRealtime(String topic, KafkaEventPayload event) {
+        return !LOAN_EVENTS_TOPIC.equals(topic)
+                || (isLoanEvent(event) && REALTIME_EVENT_TYPES.contains(event.getEventType()));
+    }
+
+    /**
+     * The borrower notification for an event: derived from a canonical loan event that carries
+     * both the recipient and the asset, or taken as is from a NotificationRequest left on the
+     * legacy topics. A loan event whose user or asset did not resolve produces none, as before.
+     */
+    public static Optional<KafkaEventPayload> toNotificationRequest(KafkaEventPayload event) {
+        if (NOTIFICATION_REQUEST.equals(event.getEventType())) {
+            return Optional.of(event);
+        }
+        if (!isLoanEvent(event) || event.getData() == null
+                || event.getData().get("recipientEmail") == null || event.getData().get("assetName") == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> data = event.getData();
+        Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put("recipientEmail", data.get("recipientEmail"));
+        notificationData.put("recipientName", data.get("recipientName"));
+        notificationData.put("assetName", data.get("assetName"));
+        notificationData.put("assetTag", data.get("assetTag"));
+        notificationData.put("dueAt", data.get("dueAt"));
+        notificationData.put("eventType", event.getEventType());
+
+        KafkaEventPayload notification = new KafkaEventPayload();
+        notification.setEventId(event.getEventId() + "-notification");
+        notification.setEventType(NOTIFICATION_REQUEST);
+        notification.setTimestamp(event.getTimestamp());
+        notification.setAggregateType("NOTIFICATION");
+        notification.setAggregateId(event.getAggregateId());
+        notification.setData(notificationData);
+        notification.setSource(event.getSource());
+        notification.setVersion(event.getVersion());
+        notification.setMetadata(event.getMetadata());
+        return Optional.of(notification);
+    }
+}
@@ -5,15 +5,13 @@ import com.example.asset_management.service.NotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Headers;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -24,77 +22,96 @@ public class NotificationConsumer {
 
     private final ObjectMapper objectMapper;
     private final NotificationService notificationService;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
-    @KafkaListener(topics = "notifications.email", groupId = "notification-email-processor")
-    public void handleEmailNotification(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+    @KafkaListener(
+        id = "notification-email",
+        topics = {LoanEventRouter.LOAN_EVENTS_TOPIC, "notifications.email"},
+        groupId = "notification-email-processor",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        // Only applies where the group has no offset yet, so assets.events history is not re-notified
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleEmailNotifications(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.info("Received email notification from topic: {}", topic);
-            
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
-            
-            if ("NotificationRequest".equals(event.getEventType())) {
-                processEmailNotification(event);
+        log.info("Received {} email notifications", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, record -> {
+            try {
+                KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+                
+                LoanEventRouter.toNotificationRequest(event).ifPresent(this::processEmailNotification);
+                
+            } catch (Exception e) {
+                log.error("Failed to process email notification: {}", record.value(), e);
+                throw new RuntimeException("Email notification processing failed", e);
             }
-            
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process email notification: {}", message, e);
-            throw new RuntimeException("Email notification processing failed", e);
-        }
+        });
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
     }
 
-    @KafkaListener(topics = "notifications.push", groupId = "notification-push-processor")
-    public void handlePushNotification(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+    @KafkaListener(
+        id = "notification-push",
+        topics = {LoanEventRouter.LOAN_EVENTS_TOPIC, "notifications.push"},
+        groupId = "notification-push-processor",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        // Only applies where the group has no offset yet, so assets.events history is not re-notified
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handlePushNotifications(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.info("Received push notification from topic: {}", topic);
-            
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
-            
-            if ("NotificationRequest".equals(event.getEventType())) {
-                processPushNotification(event);
+        log.info("Received {} push notifications", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, record -> {
+            try {
+                KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+                
+                LoanEventRouter.toNotificationRequest(event).ifPresent(this::processPushNotification);
+                
+            } catch (Exception e) {
+                log.error("Failed to process push notification: {}", record.value(), e);
+                throw new RuntimeException("Push notification processing failed", e);
             }
-            
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process push notification: {}", message, e);
-            throw new RuntimeException("Push notification processing failed", e);
-        }
+        });
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
     }
 
-    @KafkaListener(topics = "notifications.sms", groupId = "notification-sms-processor")
-    public void handleSmsNotification(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+    @KafkaListener(
+        id = "notification-sms",
+        topics = "notifications.sms",
+        groupId = "notification-sms-processor",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleSmsNotifications(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.info("Received SMS notification from topic: {}", topic);
-            
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
-            
-            if ("NotificationRequest".equals(event.getEventType())) {
-                processSmsNotification(event);
+        log.info("Received {} SMS notifications", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, record -> {
+            try {
+                KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+                
+                if ("NotificationRequest".equals(event.getEventType())) {
+                    processSmsNotification(event);
+                }
+                
+            } catch (Exception e) {
+                log.error("Failed to process SMS notification: {}", record.value(), e);
+                throw new RuntimeException("SMS notification processing failed", e);
             }
-            
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process SMS notification: {}", message, e);
-            throw new RuntimeException("SMS notification processing failed", e);
-        }
+        });
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
     }
 
     private void processEmailNotification(KafkaEventPayload event) {
@@ -10,16 +10,21 @@ import com.example.asset_management.service.WebSocketNotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Turns the realtime loan events on assets.events (and any left on the legacy realtime.updates
+ * topic) into WebSocket pushes. Every node reads the topics in its own consumer group and
+ * delivers only to the users connected to it, so a user gets the push whichever node holds
+ * their session.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -30,19 +35,36 @@ public class RealtimeNotificationConsumer {
     private final WebSocketNotificationService webSocketNotificationService;
     private final UserRepository userRepository;
     private final AssetRepository assetRepository;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
-    @KafkaListener(topics = "realtime.updates", groupId = "realtime-notification-processor")
-    public void handleRealtimeUpdate(
-        @Payload String message,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-        @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.OFFSET) long offset,
+    @KafkaListener(
+        id = "realtime-notifications",
+        topics = {LoanEventRouter.LOAN_EVENTS_TOPIC, "realtime.updates"},
+        groupId = "realtime-notification-#{@webSocketNotificationService.nodeId}",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleRealtimeUpdates(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
+        log.info("Received {} realtime updates", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, this::processRealtimeEvent);
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
+    }
+
+    private void processRealtimeEvent(ConsumerRecord<String, String> record) {
         try {
-            log.info("Received realtime update from topic: {}, partition: {}, offset: {}", topic, partition, offset);
+            log.debug("Processing realtime update from topic: {}, partition: {}, offset: {}", 
+                record.topic(), record.partition(), record.offset());
             
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
+            KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+            if (!LoanEventRouter.routesToRealtime(record.topic(), event)) {
+                return;
+            }
             
             log.info("Processing realtime event: {} for aggregate: {} with ID: {}", 
                 event.getEventType(), event.getAggregateType(), event.getAggregateId());
@@ -77,11 +99,8 @@ public class RealtimeNotificationConsumer {
                     log.warn("Unknown realtime event type: {}", event.getEventType());
             }
             
-            // Acknowledge successful processing
-            acknowledgment.acknowledge();
-            
         } catch (Exception e) {
-            log.error("Failed to process realtime event: {}", message, e);
+            log.error("Failed to process realtime event: {}", record.value(), e);
             // Don't acknowledge - message will be retried
             throw new RuntimeException("Realtime event processing failed", e);
         }
@@ -90,21 +109,17 @@ public class RealtimeNotificationConsumer {
     private void handleAssetAssignedNotification(KafkaEventPayload event) {
         try {
             Map<String, Object> data = event.getData();
-            Long userId = Long.valueOf(data.get("userId").toString());
-            Long assetId = Long.valueOf(data.get("assetId").toString());
-            
-            User user = userRepository.findById(userId).orElse(null);
-            Asset asset = assetRepository.findById(assetId).orElse(null);
+            LoanDisplay display = resolveDisplay(event);
             
-            if (user != null && asset != null) {
+            if (display != null) {
                 String message = String.format("Asset '%s' has been assigned to you. Due date: %s", 
-                    asset.getName(), data.get("dueAt"));
+                    display.assetName(), data.get("dueAt"));
                 
-                webSocketNotificationService.sendAssetEventNotification(
-                    user.getUsername(), 
-                    "AssetAssigned", 
-                    asset.getName(), 
-                    message
+                webSocketNotificationService.deliverToLocalUser(display.username(),
+                    webSocketNotificationService.buildAssetEventNotification(
+                        "AssetAssigned",
+                        display.assetName(),
+                        message)
                 );
             }
         } catch (Exception e) {
@@ -114,21 +129,16 @@ public class RealtimeNotificationConsumer {
 
     private void handleAssetReturnedNotification(KafkaEventPayload event) {
         try {
-            Map<String, Object> data = event.getData();
-            Long userId = Long.valueOf(data.get("userId").toString());
-            Long assetId = Long.valueOf(data.get("assetId").toString());
-            
-            User user = userRepository.findById(userId).orElse(null);
-            Asset asset = assetRepository.findById(assetId).orElse(null);
+            LoanDisplay display = resolveDisplay(event);
             
-            if (user != null && asset != null) {
-                String message = String.format("Asset '%s' has been returned successfully", asset.getName());
+            if (display != null) {
+                String message = String.format("Asset '%s' has been returned successfully", display.assetName());
                 
-                webSocketNotificationService.sendAssetEventNotification(
-                    user.getUsername(), 
-                    "AssetReturned", 
-                    asset.getName(), 
-                    message
+                webSocketNotificationService.deliverToLocalUser(display.username(),
+                    webSocketNotificationService.buildAssetEventNotification(
+                        "AssetReturned",
+                        display.assetName(),
+                        message)
                 );
             }
         } catch (Exception e) {
@@ -138,21 +148,16 @@ public class RealtimeNotificationConsumer {
 
     private void handleAssetRejectedNotification(KafkaEventPayload event) {
         try {
-            Map<String, Object> data = event.getData();
-            Long userId = Long.valueOf(data.get("userId").toString());
-            Long assetId = Long.valueOf(data.get("assetId").toString());
-            
-            User user = userRepository.findById(userId).orElse(null);
-            Asset asset = assetRepository.findById(assetId).orElse(null);
+            LoanDisplay display = resolveDisplay(event);
             
-            if (user != null && asset != null) {
-                String message = String.format("Your request for asset '%s' has been rejected", asset.getName());
+            if (display != null) {
+                String message = String.format("Your request for asset '%s' has been rejected", display.assetName());
                 
-                webSocketNotificationService.sendLoanStatusNotification(
-                    user.getUsername(), 
-                    "Rejected", 
-                    asset.getName(), 
-                    message
+                webSocketNotificationService.deliverToLocalUser(display.username(),
+                    webSocketNotificationService.buildLoanStatusNotification(
+                        "Rejected",
+                        display.assetName(),
+                        message)
                 );
             }
         } catch (Exception e) {
@@ -163,21 +168,17 @@ public class RealtimeNotificationConsumer {
     private void handleAssetDueSoonNotification(KafkaEventPayload event) {
         try {
             Map<String, Object> data = event.getData();
-            Long userId = Long.valueOf(data.get("userId").toString());
-            Long assetId = Long.valueOf(data.get("assetId").toString());
+            LoanDisplay display = resolveDisplay(event);
             
-            User user = userRepository.findById(userId).orElse(null);
-            Asset asset = assetRepository.findById(assetId).orElse(null);
-            
-            if (user != null && asset != null) {
+            if (display != null) {
                 String message = String.format("Asset '%s' is due soon on %s", 
-                    asset.getName(), data.get("dueAt"));
+                    display.assetName(), data.get("dueAt"));
                 
-                webSocketNotificationService.sendAssetEventNotification(
-                    user.getUsername(), 
-                    "AssetDueSoon", 
-                    asset.getName(), 
-                    message
+                webSocketNotificationService.deliverToLocalUser(display.username(),
+                    webSocketNotificationService.buildAssetEventNotification(
+                        "AssetDueSoon",
+                        display.assetName(),
+                        message)
                 );
             }
         } catch (Exception e) {
@@ -188,21 +189,17 @@ public class RealtimeNotificationConsumer {
     private void handleAssetOverdueNotification(KafkaEventPayload event) {
         try {
             Map<String, Object> data = event.getData();
-            Long userId = Long.valueOf(data.get("userId").toString());
-            Long assetId = Long.valueOf(data.get("assetId").toString());
-            
-            User user = userRepository.findById(userId).orElse(null);
-            Asset asset = assetRepository.findById(assetId).orElse(null);
+            LoanDisplay display = resolveDisplay(event);
             
-            if (user != null && asset != null) {
+            if (display != null) {
                 String message = String.format("Asset '%s' is overdue since %s", 
-                    asset.getName(), data.get("dueAt"));
+                    display.assetName(), data.get("dueAt"));
                 
-                webSocketNotificationService.sendAssetEventNotification(
-                    user.getUsername(), 
-                    "AssetOverdue", 
-                    asset.getName(), 
-                    message
+                webSocketNotificationService.deliverToLocalUser(display.username(),
+                    webSocketNotificationService.buildAssetEventNotification(
+                        "AssetOverdue",
+                        display.assetName(),
+                        message)
                 );
             }
         } catch (Exception e) {
@@ -217,7 +214,8 @@ public class RealtimeNotificationConsumer {
             String assetName = (String) data.get("assetName");
             
             // Send notification to all managers
-            webSocketNotificationService.sendApprovalRequestNotification(requesterName, assetName);
+            webSocketNotificationService.deliverToLocalTopic(WebSocketNotificationService.MANAGER_TOPIC,
+                webSocketNotificationService.buildApprovalRequestNotification(requesterName, assetName));
             
         } catch (Exception e) {
             log.error("Failed to handle approval request notification", e);
@@ -232,7 +230,7 @@ public class RealtimeNotificationConsumer {
             String assetName = (String) data.get("assetName");
             
             // Send notification to all managers about the approval
-            webSocketNotificationService.sendNotificationToManagers(
+            webSocketNotificationService.deliverToLocalTopic(WebSocketNotificationService.MANAGER_TOPIC,
                 NotificationMessage.builder()
                     .type("APPROVAL_COMPLETED")
                     .title("Loan Approved")
@@ -255,7 +253,7 @@ public class RealtimeNotificationConsumer {
             String assetName = (String) data.get("assetName");
             
             // Send notification to all managers about the rejection
-            webSocketNotificationService.sendNotificationToManagers(
+            webSocketNotificationService.deliverToLocalTopic(WebSocketNotificationService.MANAGER_TOPIC,
                 NotificationMessage.builder()
                     .type("REJECTION_COMPLETED")
                     .title("Loan Rejected")
@@ -269,4 +267,29 @@ public class RealtimeNotificationConsumer {
             log.error("Failed to handle rejection completed notification", e);
         }
     }
+
+    /**
+     * Reads the display fields carried since version 2.0 and still present in the 2.1 payloads
+     * the producer emits now. 1.0 events, or ones whose user or asset could not be resolved at
+     * publish time, fall back to looking them up.
+     */
+    private LoanDisplay resolveDisplay(KafkaEventPayload event) {
+        Map<String, Object> data = event.getData();
+        if (data.get("username") != null && data.get("assetName") != null) {
+            return new LoanDisplay(data.get("username").toString(), data.get("assetName").toString());
+        }
+
+        log.debug("Resolving display fields for {} event version {} from the database",
+            event.getEventType(), event.getVersion());
+        Long userId = Long.valueOf(data.get("userId").toString());
+        Long assetId = Long.valueOf(data.get("assetId").toString());
+        
+        User user = userRepository.findById(userId).orElse(null);
+        Asset asset = assetRepository.findById(assetId).orElse(null);
+        
+        return user != null && asset != null ? new LoanDisplay(user.getUsername(), asset.getName()) : null;
+    }
+
+    private record LoanDisplay(String username, String assetName) {
+    }
 }
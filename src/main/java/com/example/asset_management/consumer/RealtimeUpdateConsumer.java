@@ -4,15 +4,13 @@ import com.example.asset_management.dto.KafkaEventPayload;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Headers;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -22,55 +20,73 @@ import java.util.Map;
 public class RealtimeUpdateConsumer {
 
     private final ObjectMapper objectMapper;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
-    @KafkaListener(topics = "realtime.updates", groupId = "realtime-dashboard-updates")
-    public void handleRealtimeUpdate(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+    @KafkaListener(
+        id = "realtime-dashboard",
+        topics = {LoanEventRouter.LOAN_EVENTS_TOPIC, "realtime.updates"},
+        groupId = "realtime-dashboard-updates",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        // Only applies where the group has no offset yet, so assets.events history is not replayed
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleRealtimeUpdates(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.info("Received realtime update from topic: {}", topic);
-            
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
-            
-            log.info("Processing realtime update: {} for aggregate: {} with ID: {}", 
-                event.getEventType(), event.getAggregateType(), event.getAggregateId());
-            
-            processRealtimeUpdate(event);
-            
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process realtime update: {}", message, e);
-            throw new RuntimeException("Realtime update processing failed", e);
-        }
+        log.info("Received {} realtime updates", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, record -> {
+            try {
+                KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+                if (!LoanEventRouter.routesToRealtime(record.topic(), event)) {
+                    return;
+                }
+                
+                log.debug("Processing realtime update: {} for aggregate: {} with ID: {}", 
+                    event.getEventType(), event.getAggregateType(), event.getAggregateId());
+                
+                processRealtimeUpdate(event);
+                
+            } catch (Exception e) {
+                log.error("Failed to process realtime update: {}", record.value(), e);
+                throw new RuntimeException("Realtime update processing failed", e);
+            }
+        });
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
     }
 
-    @KafkaListener(topics = "realtime.status", groupId = "realtime-status-updates")
-    public void handleRealtimeStatus(
-        @Payload String message,
-        @Headers Map<String, Object> headers,
-        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+    @KafkaListener(
+        id = "realtime-status",
+        topics = "realtime.status",
+        groupId = "realtime-status-updates",
+        containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleRealtimeStatuses(
+        List<ConsumerRecord<String, String>> records,
         Acknowledgment acknowledgment
     ) {
-        try {
-            log.info("Received status update from topic: {}", topic);
-            
-            KafkaEventPayload event = objectMapper.readValue(message, KafkaEventPayload.class);
-            
-            log.info("Processing status update: {} for aggregate: {} with ID: {}", 
-                event.getEventType(), event.getAggregateType(), event.getAggregateId());
-            
-            processStatusUpdate(event);
-            
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            log.error("Failed to process status update: {}", message, e);
-            throw new RuntimeException("Status update processing failed", e);
-        }
+        log.info("Received {} status updates", records.size());
+        
+        keyOrderedDispatcher.dispatch(records, record -> {
+            try {
+                KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+                
+                log.debug("Processing status update: {} for aggregate: {} with ID: {}", 
+                    event.getEventType(), event.getAggregateType(), event.getAggregateId());
+                
+                processStatusUpdate(event);
+                
+            } catch (Exception e) {
+                log.error("Failed to process status update: {}", record.value(), e);
+                throw new RuntimeException("Status update processing failed", e);
+            }
+        });
+        
+        // Acknowledge the whole batch with a single offset commit
+        acknowledgment.acknowledge();
     }
 
     private void processRealtimeUpdate(KafkaEventPayload event) {
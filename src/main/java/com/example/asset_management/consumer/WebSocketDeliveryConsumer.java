@@ -0,0 +1,76 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.dto.KafkaEventPayload;
+import com.example.asset_management.service.WebSocketNotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers pushes published on websocket.delivery by any node in distributed delivery mode. Each
+ * node reads every message in its own group and hands it to its local simple broker; user pushes
+ * go only to users with a session here. A push that fails is logged and dropped, since a stale
+ * notification is not worth redelivering.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!docker")
+public class WebSocketDeliveryConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final WebSocketNotificationService webSocketNotificationService;
+
+    @KafkaListener(
+        id = "websocket-delivery",
+        topics = "websocket.delivery",
+        groupId = "websocket-delivery-#{@webSocketNotificationService.nodeId}",
+        containerFactory = "batchKafkaListenerContainerFactory",
+        properties = {"auto.offset.reset=latest"}
+    )
+    public void handleDeliveries(
+        List<ConsumerRecord<String, String>> records,
+        Acknowledgment acknowledgment
+    ) {
+        log.debug("Received {} WebSocket deliveries", records.size());
+
+        // Records for one user share a key and partition, so delivering in order keeps them ordered
+        for (ConsumerRecord<String, String> record : records) {
+            deliver(record);
+        }
+
+        acknowledgment.acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(ConsumerRecord<String, String> record) {
+        try {
+            KafkaEventPayload event = objectMapper.readValue(record.value(), KafkaEventPayload.class);
+            Map<String, Object> data = event.getData();
+
+            String destination = (String) data.get("destination");
+            String username = (String) data.get("username");
+            if (username != null) {
+                // Most deliveries are for users connected elsewhere; skip encoding those
+                if (webSocketNotificationService.isConnectedLocally(username)) {
+                    webSocketNotificationService.deliverToLocalUser(username,
+                        webSocketNotificationService.encode((Map<String, Object>) data.get("message")));
+                }
+            } else {
+                webSocketNotificationService.deliverToLocalTopic(destination,
+                    webSocketNotificationService.encode((Map<String, Object>) data.get("message")));
+            }
+        } catch (Exception e) {
+            log.warn("Dropping WebSocket delivery at partition {}, offset {}: {}",
+                record.partition(), record.offset(), e.getMessage());
+        }
+    }
+}
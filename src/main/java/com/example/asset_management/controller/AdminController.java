@@ -1,21 +1,40 @@
 package com.example.asset_management.controller;
 
 import com.example.asset_management.dto.ApiResponse;
+import com.example.asset_management.dto.AssetImportJob;
 import com.example.asset_management.dto.CreateAssetRequest;
 import com.example.asset_management.dto.CreateUserRequest;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.Asset.AssetStatus;
 import com.example.asset_management.model.AssetCategory;
 import com.example.asset_management.model.Department;
 import com.example.asset_management.model.Role;
 import com.example.asset_management.model.User;
 import com.example.asset_management.service.AdminService;
+import com.example.asset_management.service.AssetCategoryCacheService;
+import com.example.asset_management.service.AssetImportService;
+import com.example.asset_management.service.DueDateSweepService;
+import com.example.asset_management.service.DueDateTimerService;
+import com.example.asset_management.service.JobLeaseService;
+import com.example.asset_management.service.NotificationRetentionService;
+import com.example.asset_management.service.OutboxRelayService;
+import com.example.asset_management.service.VirtualThreadPinningMonitor;
+import com.example.asset_management.service.WebSocketOutboundMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +46,16 @@ import java.util.Map;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelayService outboxRelayService;
+    private final AssetCategoryCacheService assetCategoryCacheService;
+    private final AssetImportService assetImportService;
+    private final DueDateSweepService dueDateSweepService;
+    private final DueDateTimerService dueDateTimerService;
+    private final JobLeaseService jobLeaseService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final WebSocketOutboundMonitor webSocketOutboundMonitor;
+    private final VirtualThreadPinningMonitor virtualThreadPinningMonitor;
 
     // Asset Management APIs
     @PostMapping("/assets")
@@ -43,29 +72,86 @@ public class AdminController {
     }
 
     @PostMapping("/assets/bulk-import")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> bulkImportAssets(
+    public ResponseEntity<ApiResponse<AssetImportJob>> bulkImportAssets(
             @RequestParam("file") MultipartFile file,
             Authentication authentication) {
         try {
-            Map<String, Object> result = adminService.bulkImportAssets(file, authentication.getName());
-            return ResponseEntity.ok(ApiResponse.success("Assets imported successfully", result));
+            AssetImportJob job = assetImportService.submitImport(file, authentication.getName());
+            return ResponseEntity.accepted().body(ApiResponse.success("Asset import started", job));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            log.error("Failed to import assets", e);
+            log.error("Failed to start asset import", e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    @GetMapping("/assets/bulk-import/{jobId}")
+    public ResponseEntity<ApiResponse<AssetImportJob>> getBulkImportStatus(@PathVariable String jobId) {
+        return assetImportService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Asset import status retrieved successfully", job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Legacy asset list, capped to the first keyset page of /admin/assets/page.
+     *
+     * @deprecated use {@link #getAssetsPage} to walk the assets.
+     */
+    @Deprecated
     @GetMapping("/assets")
     public ResponseEntity<ApiResponse<List<Asset>>> getAllAssets(Authentication authentication) {
         try {
-            List<Asset> assets = adminService.getAllAssets(authentication.getName());
-            return ResponseEntity.ok(ApiResponse.success("Assets retrieved successfully", assets));
+            CursorPageResponse<Asset> page = adminService.getAssetsPage(
+                    null, null, null, null, authentication.getName());
+            return LegacyListResponses.firstPage(page)
+                    .body(ApiResponse.success("Assets retrieved successfully", page.getItems()));
         } catch (Exception e) {
             log.error("Failed to get assets", e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    @GetMapping("/assets/page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<Asset>>> getAssetsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) AssetStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        try {
+            CursorPageResponse<Asset> page = adminService.getAssetsPage(
+                    cursor, status, categoryId, limit, authentication.getName());
+            return ResponseEntity.ok(ApiResponse.success("Assets retrieved successfully", page));
+        } catch (Exception e) {
+            log.error("Failed to get assets page", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/assets/stream", produces = "application/x-ndjson")
+    public void streamAssets(
+            @RequestParam(required = false) AssetStatus status,
+            @RequestParam(required = false) Long categoryId,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        // One JSON document per line, written as rows come off the database cursor
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            adminService.streamAssets(status, categoryId, asset -> {
+                try {
+                    writer.write(asset);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, authentication.getName());
+        }
+    }
+
     @GetMapping("/assets/{id}")
     public ResponseEntity<ApiResponse<Asset>> getAssetById(@PathVariable Long id, Authentication authentication) {
         try {
@@ -319,6 +405,94 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getOutboxStatistics() {
+        try {
+            Map<String, Object> statistics = outboxRelayService.getRelayStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Outbox statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get outbox statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/scheduler/due-date-sweep/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDueDateSweepStatistics() {
+        try {
+            Map<String, Object> statistics = dueDateSweepService.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Due date sweep statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get due date sweep statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/scheduler/due-date-timers/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getDueDateTimerStatistics() {
+        try {
+            Map<String, Object> statistics = dueDateTimerService.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Due date timer statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get due date timer statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/notifications/retention/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getNotificationRetentionStatistics() {
+        try {
+            Map<String, Object> statistics = notificationRetentionService.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Notification retention statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get notification retention statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/scheduler/leases")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSchedulerLeases() {
+        try {
+            Map<String, Object> statistics = jobLeaseService.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Scheduler leases retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get scheduler leases", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/websocket/outbound/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getWebSocketOutboundStatistics() {
+        try {
+            Map<String, Object> statistics = webSocketOutboundMonitor.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("WebSocket outbound statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get WebSocket outbound statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/virtual-threads/pinning/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getVirtualThreadPinningStatistics() {
+        try {
+            Map<String, Object> statistics = virtualThreadPinningMonitor.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Virtual thread pinning statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get virtual thread pinning statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/cache/asset-categories/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCategoryCacheStatistics() {
+        try {
+            Map<String, Object> statistics = assetCategoryCacheService.getStatistics();
+            return ResponseEntity.ok(ApiResponse.success("Category cache statistics retrieved successfully", statistics));
+        } catch (Exception e) {
+            log.error("Failed to get category cache statistics", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     // Department and Role APIs
     @GetMapping("/departments")
     public ResponseEntity<ApiResponse<List<Department>>> getDepartments() {
@@ -5,10 +5,14 @@ import com.example.asset_management.dto.AssetAssignmentRequest;
 import com.example.asset_management.dto.AssetResponse;
 import com.example.asset_management.dto.AssetReturnRequest;
 import com.example.asset_management.dto.CreateAssetRequest;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.exception.AssetNotFoundException;
 import com.example.asset_management.model.Asset;
 import com.example.asset_management.model.Asset.AssetStatus;
 import com.example.asset_management.service.AssetService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +20,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -27,18 +33,62 @@ import java.util.Map;
 public class AssetController {
 
     private final AssetService assetService;
-
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Legacy asset list, capped to the first keyset page of /assets/page.
+     *
+     * @deprecated use {@link #getAssetsPage} to walk the assets.
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<ApiResponse<List<AssetResponse>>> getAllAssets() {
         try {
-            List<AssetResponse> assets = assetService.getAllAssets();
-            return ResponseEntity.ok(ApiResponse.success(assets));
+            CursorPageResponse<AssetResponse> page = assetService.getAssetsPage(null, null, null, null);
+            return LegacyListResponses.firstPage(page).body(ApiResponse.success(page.getItems()));
         } catch (Exception e) {
             log.error("Failed to get all assets", e);
             return ResponseEntity.internalServerError().body(ApiResponse.error("Failed to retrieve assets"));
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AssetResponse>>> getAssetsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) AssetStatus status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageResponse<AssetResponse> page = assetService.getAssetsPage(cursor, status, categoryId, limit);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (Exception e) {
+            log.error("Failed to get assets page after cursor: {}", cursor, e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error("Failed to retrieve assets"));
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public void streamAssets(
+            @RequestParam(required = false) AssetStatus status,
+            @RequestParam(required = false) Long categoryId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        // One JSON document per line, written as rows come off the database cursor
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            assetService.streamAssets(status, categoryId, asset -> {
+                try {
+                    writer.write(asset);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @GetMapping("/available")
     public ResponseEntity<ApiResponse<List<AssetResponse>>> getAvailableAssets() {
         try {
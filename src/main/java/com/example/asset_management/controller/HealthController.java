@@ -1,15 +1,20 @@
 package com.example.asset_management.controller;
 
 import com.example.asset_management.dto.ApiResponse;
-import com.example.asset_management.repository.AssetCategoryRepository;
+import com.example.asset_management.service.HealthProbeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
+/**
+ * Probe endpoints. None of them touch the database or Kafka: liveness only shows the process is
+ * serving requests, and readiness reads the result of the background checks in
+ * {@link HealthProbeService}.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/health")
@@ -17,54 +22,43 @@ import java.util.Map;
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 public class HealthController {
 
-    private final AssetCategoryRepository assetCategoryRepository;
+    private final HealthProbeService healthProbeService;
+
+    @GetMapping("/live")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> liveness() {
+        return ResponseEntity.ok(ApiResponse.success("Alive", Map.of(
+            "status", "alive",
+            "timestamp", System.currentTimeMillis()
+        )));
+    }
+
+    @GetMapping("/ready")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> readiness() {
+        return snapshotResponse("Ready", "Not ready");
+    }
 
     @GetMapping
     public ResponseEntity<ApiResponse<Map<String, Object>>> healthCheck() {
-        try {
-            // Test database connection by fetching asset categories
-            List<com.example.asset_management.model.AssetCategory> categories = assetCategoryRepository.findAll();
-            
-            Map<String, Object> healthData = Map.of(
-                "status", "healthy",
-                "database", "connected",
-                "assetCategoriesCount", categories.size(),
-                "timestamp", System.currentTimeMillis()
-            );
-            
-            return ResponseEntity.ok(ApiResponse.success("System is healthy", healthData));
-        } catch (Exception e) {
-            log.error("Health check failed", e);
-            Map<String, Object> healthData = Map.of(
-                "status", "unhealthy",
-                "database", "disconnected",
-                "error", e.getMessage(),
-                "timestamp", System.currentTimeMillis()
-            );
-            return ResponseEntity.internalServerError().body(ApiResponse.error("System is unhealthy"));
-        }
+        return snapshotResponse("System is healthy", "System is unhealthy");
     }
 
     @GetMapping("/test-db")
     public ResponseEntity<ApiResponse<Map<String, Object>>> testDatabase() {
-        try {
-            // Test database connection by fetching asset categories
-            List<com.example.asset_management.model.AssetCategory> categories = assetCategoryRepository.findAll();
-            
-            Map<String, Object> dbData = Map.of(
-                "status", "connected",
-                "categoriesCount", categories.size(),
-                "categories", categories.stream().map(cat -> Map.of(
-                    "id", cat.getId(),
-                    "name", cat.getName(),
-                    "description", cat.getDescription()
-                )).toList()
-            );
-            
-            return ResponseEntity.ok(ApiResponse.success("Database connection successful", dbData));
-        } catch (Exception e) {
-            log.error("Database test failed", e);
-            return ResponseEntity.internalServerError().body(ApiResponse.error("Database connection failed: " + e.getMessage()));
+        HealthProbeService.CheckResult database = healthProbeService.getCheck("database");
+        if (database != null && database.up()) {
+            return ResponseEntity.ok(ApiResponse.success("Database connection successful", Map.of("database", database)));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(ApiResponse.error("Database connection failed" + (database != null ? ": " + database.detail() : "")));
+    }
+
+    private ResponseEntity<ApiResponse<Map<String, Object>>> snapshotResponse(String readyMessage, String notReadyMessage) {
+        Map<String, Object> snapshot = healthProbeService.getSnapshot();
+        if (healthProbeService.isReady()) {
+            return ResponseEntity.ok(ApiResponse.success(readyMessage, snapshot));
         }
+        ApiResponse<Map<String, Object>> response = ApiResponse.error(notReadyMessage);
+        response.setData(snapshot);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
@@ -0,0 +1,29 @@
+package com.example.asset_management.controller;
+
+import com.example.asset_management.dto.CursorPageResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Headers for deprecated list endpoints that now serve only the first keyset page of their
+ * /page counterpart: a Deprecation marker, and a Link rel="next" to that endpoint when more
+ * rows exist.
+ */
+final class LegacyListResponses {
+
+    private LegacyListResponses() {
+    }
+
+    static ResponseEntity.BodyBuilder firstPage(CursorPageResponse<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("Deprecation", "true");
+        if (page.isHasMore()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/page")
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+}
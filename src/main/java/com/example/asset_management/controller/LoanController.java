@@ -4,9 +4,11 @@ import com.example.asset_management.dto.ApiResponse;
 import com.example.asset_management.dto.AssetAssignmentRequest;
 import com.example.asset_management.dto.AssetLoanResponse;
 import com.example.asset_management.dto.AssetReturnRequest;
+import com.example.asset_management.exception.AssetConflictException;
 import com.example.asset_management.service.AssetLoanService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +32,9 @@ public class LoanController {
         try {
             AssetLoanResponse response = assetLoanService.assignAsset(request, authentication.getName());
             return ResponseEntity.ok(ApiResponse.success("Asset assigned successfully", response));
+        } catch (AssetConflictException e) {
+            log.warn("Asset assignment conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to assign asset", e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -43,6 +48,9 @@ public class LoanController {
         try {
             AssetLoanResponse response = assetLoanService.approveLoan(loanId, authentication.getName());
             return ResponseEntity.ok(ApiResponse.success("Loan approved successfully", response));
+        } catch (AssetConflictException e) {
+            log.warn("Loan approval conflict for {}: {}", loanId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to approve loan: {}", loanId, e);
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
@@ -1,11 +1,14 @@
 package com.example.asset_management.controller;
 
 import com.example.asset_management.dto.ApiResponse;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.model.Notification;
 import com.example.asset_management.model.User;
 import com.example.asset_management.repository.NotificationRepository;
 import com.example.asset_management.repository.UserRepository;
+import com.example.asset_management.security.CustomUserDetailsService;
 import com.example.asset_management.service.NotificationService;
+import com.example.asset_management.service.UnreadCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -29,15 +32,38 @@ public class NotificationController {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final UnreadCountService unreadCountService;
+    private final CustomUserDetailsService userDetailsService;
     
+    /**
+     * Legacy inbox, capped to the first keyset page of /notifications/page. When more rows
+     * exist the Link header points at the next page.
+     *
+     * @deprecated use {@link #getNotificationsPage} to walk the inbox.
+     */
+    @Deprecated
     @GetMapping
     public ResponseEntity<ApiResponse<List<Notification>>> getUserNotifications(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Long userId = userDetailsService.getUserId(authentication.getName());
+        CursorPageResponse<Notification> page = notificationService.getInboxPage(userId, null, null);
         
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
-        
-        return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", notifications));
+        return LegacyListResponses.firstPage(page)
+                .body(ApiResponse.success("Notifications retrieved successfully", page.getItems()));
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<Notification>>> getNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        try {
+            Long userId = userDetailsService.getUserId(authentication.getName());
+            CursorPageResponse<Notification> page = notificationService.getInboxPage(userId, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", page));
+        } catch (Exception e) {
+            log.error("Failed to get notifications page after cursor: {}", cursor, e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
     
     @GetMapping("/unread")
@@ -50,12 +76,11 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Unread notifications retrieved successfully", notifications));
     }
     
+    // Served from the cached principal and the in-memory counter; clients get live updates over WebSocket
     @GetMapping("/unread/count")
     public ResponseEntity<ApiResponse<Long>> getUnreadCount(Authentication authentication) {
-        User user = userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Long count = notificationRepository.countUnreadByUserId(user.getId());
+        String username = authentication.getName();
+        Long count = unreadCountService.getUnreadCount(userDetailsService.getUserId(username), username);
         
         return ResponseEntity.ok(ApiResponse.success("Unread count retrieved successfully", count));
     }
@@ -65,7 +90,7 @@ public class NotificationController {
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        notificationService.markAsRead(id);
+        notificationService.markAsRead(id, user.getId());
         
         return ResponseEntity.ok(ApiResponse.success("Notification marked as read", "Success"));
     }
@@ -75,7 +100,7 @@ public class NotificationController {
         User user = userRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
-        notificationRepository.markAllAsReadByUserId(user.getId());
+        notificationService.markAllAsRead(user.getId());
         
         return ResponseEntity.ok(ApiResponse.success("All notifications marked as read", "Success"));
     }
@@ -0,0 +1,60 @@
+package com.example.asset_management.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a background asset import. Written by the import worker, which persists it to
+ * asset_import_jobs once per chunk; the status endpoint reads it back from there.
+ */
+@Getter
+@Setter
+public class AssetImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId;
+    private final String fileName;
+    private final String requestedBy;
+    private final LocalDateTime createdAt;
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong importedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String failureReason;
+
+    public AssetImportJob(String jobId, String fileName, String requestedBy) {
+        this(jobId, fileName, requestedBy, LocalDateTime.now());
+    }
+
+    public AssetImportJob(String jobId, String fileName, String requestedBy, LocalDateTime createdAt) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.requestedBy = requestedBy;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Counts a rejected row; only the first {@code maxErrors} messages are kept.
+     */
+    public void addError(String error, int maxErrors) {
+        errorCount.incrementAndGet();
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+    }
+}
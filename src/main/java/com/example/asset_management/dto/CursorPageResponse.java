@@ -0,0 +1,50 @@
+package com.example.asset_management.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+
+    public static <T> CursorPageResponse<T> of(List<T> items, String nextCursor, boolean hasMore, int limit) {
+        CursorPageResponse<T> page = new CursorPageResponse<>();
+        page.setItems(items);
+        page.setNextCursor(nextCursor);
+        page.setHasMore(hasMore);
+        page.setLimit(limit);
+        return page;
+    }
+
+    /**
+     * Request for one keyset page: one row more than the page size, to know whether another
+     * page follows.
+     */
+    public static Pageable fetchRequest(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Builds the page from rows fetched with {@link #fetchRequest(int)}, dropping the extra row
+     * and taking the next cursor from the last row kept.
+     */
+    public static <T> CursorPageResponse<T> fromRows(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return of(items, nextCursor, hasMore, pageSize);
+    }
+
+    public <R> CursorPageResponse<R> map(Function<List<T>, List<R>> mapper) {
+        return of(mapper.apply(items), nextCursor, hasMore, limit);
+    }
+}
@@ -8,6 +8,13 @@ import java.util.Map;
 @Getter
 @Setter
 public class KafkaEventPayload {
+
+    /**
+     * 2.0 adds username, assetName and assetTag to ASSET_LOAN event data; 1.0 carries ids only.
+     * 2.1 adds recipientEmail and recipientName, from which the notification streams are derived.
+     */
+    public static final String CURRENT_VERSION = "2.1";
+
     private String eventId;
     private String eventType;
     private LocalDateTime timestamp;
@@ -0,0 +1,8 @@
+package com.example.asset_management.event;
+
+/**
+ * A pending loan request a manager approved.
+ */
+public record LoanApprovedEvent(Long loanId, Long userId, String assetName, String assetTag, String approverName)
+        implements LoanEvent {
+}
@@ -0,0 +1,10 @@
+package com.example.asset_management.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A loan that was active immediately, without approval.
+ */
+public record LoanAssignedEvent(Long loanId, String username, String assetName, LocalDateTime dueAt)
+        implements LoanEvent {
+}
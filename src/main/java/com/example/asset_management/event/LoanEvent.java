@@ -0,0 +1,11 @@
+package com.example.asset_management.event;
+
+/**
+ * A loan state change published by AssetLoanService inside its transaction. Listeners act on it
+ * only after the transaction commits, so a rolled-back change has no side effects.
+ */
+public sealed interface LoanEvent
+        permits LoanAssignedEvent, LoanRequestedEvent, LoanApprovedEvent, LoanRejectedEvent, LoanReturnedEvent {
+
+    Long loanId();
+}
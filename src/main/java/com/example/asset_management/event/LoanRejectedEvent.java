@@ -0,0 +1,8 @@
+package com.example.asset_management.event;
+
+/**
+ * A pending loan request a manager rejected.
+ */
+public record LoanRejectedEvent(Long loanId, Long userId, String assetName, String assetTag, String rejectorName)
+        implements LoanEvent {
+}
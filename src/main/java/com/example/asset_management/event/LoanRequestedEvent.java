@@ -0,0 +1,8 @@
+package com.example.asset_management.event;
+
+/**
+ * A loan request waiting for a manager's approval.
+ */
+public record LoanRequestedEvent(Long loanId, String username, String requesterName, String assetName,
+                                 String assetTag) implements LoanEvent {
+}
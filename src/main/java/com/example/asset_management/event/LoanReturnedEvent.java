@@ -0,0 +1,7 @@
+package com.example.asset_management.event;
+
+/**
+ * A returned loan; {@code username} is whoever returned it.
+ */
+public record LoanReturnedEvent(Long loanId, String username, String assetName) implements LoanEvent {
+}
@@ -0,0 +1,11 @@
+package com.example.asset_management.exception;
+
+public class AssetConflictException extends RuntimeException {
+    public AssetConflictException(String message) {
+        super(message);
+    }
+
+    public AssetConflictException(Long assetId) {
+        super("Asset " + assetId + " is no longer available; another request claimed it first");
+    }
+}
@@ -25,6 +25,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(AssetConflictException.class)
+    public ResponseEntity<ApiResponse<String>> handleAssetConflictException(AssetConflictException ex) {
+        log.warn("Asset conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiResponse<String>> handleBadCredentialsException(BadCredentialsException ex) {
         log.warn("Bad credentials provided");
@@ -38,6 +38,8 @@ public class AssetLoan {
     private LocalDateTime dueAt;
     @Column(name = "returned_at")
     private LocalDateTime returnedAt;
+    @Column(name = "due_soon_sent_at")
+    private LocalDateTime dueSoonSentAt;
     @Column(name = "damage_note")
     private String damageNote;
     @Column(name = "created_at")
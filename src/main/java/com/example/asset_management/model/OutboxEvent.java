@@ -33,4 +33,6 @@ public class OutboxEvent {
     private LocalDateTime sentAt;
     @Column(name = "retry_count")
     private Integer retryCount;
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
 }
\ No newline at end of file
@@ -2,7 +2,10 @@ package com.example.asset_management.repository;
 
 import com.example.asset_management.model.AssetLoan;
 import com.example.asset_management.model.AssetLoan.LoanStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -41,6 +44,9 @@ public interface AssetLoanRepository extends JpaRepository<AssetLoan, Long> {
     @Query("SELECT al FROM AssetLoan al WHERE al.dueAt BETWEEN :now AND :futureDate AND al.status = 'loaned'")
     List<AssetLoan> findLoansDueSoon(@Param("now") LocalDateTime now, @Param("futureDate") LocalDateTime futureDate);
     
+    @Query("SELECT al FROM AssetLoan al WHERE al.status = 'loaned' AND al.approvedAt >= :since")
+    List<AssetLoan> findLoanedApprovedSince(@Param("since") LocalDateTime since);
+    
     @Query("SELECT al FROM AssetLoan al WHERE al.assetId = :assetId AND al.status IN ('loaned', 'pending_approval')")
     Optional<AssetLoan> findActiveLoanByAssetId(@Param("assetId") Long assetId);
     
@@ -49,4 +55,30 @@ public interface AssetLoanRepository extends JpaRepository<AssetLoan, Long> {
     
     @Query("SELECT al FROM AssetLoan al WHERE al.userId IN (:userIds) AND al.status = :status")
     List<AssetLoan> findByUserIdInAndStatus(@Param("userIds") List<Long> userIds, @Param("status") LoanStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Flips a chunk of loans from loaned to overdue in one statement; rows already moved on are skipped.
+     */
+    @Modifying
+    @Query("UPDATE AssetLoan al SET al.status = 'overdue', al.updatedAt = :updatedAt " +
+           "WHERE al.id IN (:ids) AND al.status = 'loaned'")
+    int markOverdue(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Which of {@code ids} a {@link #markOverdue} call with the same {@code updatedAt} flipped.
+     */
+    @Query("SELECT al.id FROM AssetLoan al WHERE al.id IN (:ids) AND al.status = 'overdue' " +
+           "AND al.updatedAt = :updatedAt")
+    List<Long> findIdsMarkedOverdue(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Records that the due soon reminder was queued for these loans.
+     */
+    @Modifying
+    @Query("UPDATE AssetLoan al SET al.dueSoonSentAt = :sentAt WHERE al.id IN (:ids) AND al.dueSoonSentAt IS NULL")
+    int markDueSoonSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT al FROM AssetLoan al WHERE al.id IN (:ids)")
+    List<AssetLoan> findAllByIdForUpdate(@Param("ids") List<Long> ids);
+}
@@ -2,13 +2,21 @@ package com.example.asset_management.repository;
 
 import com.example.asset_management.model.Asset;
 import com.example.asset_management.model.Asset.AssetStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, Long> {
@@ -28,8 +36,34 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     @Query("SELECT a FROM Asset a WHERE a.status = 'available' ORDER BY a.name")
     List<Asset> findAvailableAssets();
     
-    @Query("SELECT a FROM Asset a ORDER BY a.assetTag")
-    List<Asset> findAllOrderedByAssetTag();
+    /**
+     * Keyset page ordered by asset tag: returns assets whose tag sorts after {@code afterTag}
+     * (or from the start when null), optionally filtered by status and category.
+     */
+    @Query("SELECT a FROM Asset a WHERE (:afterTag IS NULL OR a.assetTag > :afterTag) " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:categoryId IS NULL OR a.categoryId = :categoryId) ORDER BY a.assetTag")
+    List<Asset> findPageAfterAssetTag(@Param("afterTag") String afterTag,
+                                      @Param("status") AssetStatus status,
+                                      @Param("categoryId") Long categoryId,
+                                      Pageable pageable);
+
+    /**
+     * Streams assets ordered by asset tag. Integer.MIN_VALUE fetch size makes the MySQL driver
+     * stream rows instead of buffering the whole result set; must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT a FROM Asset a WHERE (:status IS NULL OR a.status = :status) " +
+           "AND (:categoryId IS NULL OR a.categoryId = :categoryId) ORDER BY a.assetTag")
+    Stream<Asset> streamAllOrderedByAssetTag(@Param("status") AssetStatus status,
+                                             @Param("categoryId") Long categoryId);
+    
+    /**
+     * Asset counts grouped by (status, category) in a single query.
+     */
+    @Query("SELECT a.status AS status, a.categoryId AS categoryId, COUNT(a) AS count " +
+           "FROM Asset a GROUP BY a.status, a.categoryId")
+    List<StatusCategoryCount> countGroupedByStatusAndCategory();
     
     @Query("SELECT COUNT(a) FROM Asset a WHERE a.status = :status")
     long countByStatus(@Param("status") AssetStatus status);
@@ -38,4 +72,24 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     long countByCategoryId(@Param("categoryId") Long categoryId);
     
     boolean existsByAssetTag(String assetTag);
-}
\ No newline at end of file
+    
+    /**
+     * Atomically moves an asset from one status to another; returns 0 if it was not in the expected status.
+     */
+    @Modifying
+    @Query("UPDATE Asset a SET a.status = :newStatus, a.updatedAt = :updatedAt " +
+           "WHERE a.id = :id AND a.status = :expectedStatus")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expectedStatus") AssetStatus expectedStatus,
+                            @Param("newStatus") AssetStatus newStatus,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("SELECT a.assetTag FROM Asset a WHERE a.assetTag IN :assetTags")
+    List<String> findExistingAssetTags(@Param("assetTags") Collection<String> assetTags);
+    
+    interface StatusCategoryCount {
+        AssetStatus getStatus();
+        Long getCategoryId();
+        long getCount();
+    }
+}
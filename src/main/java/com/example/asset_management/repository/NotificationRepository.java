@@ -1,29 +1,67 @@
 package com.example.asset_management.repository;
 
 import com.example.asset_management.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
-    
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
     
+    /**
+     * First inbox page, newest first.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Inbox page after the (createdAt, id) of the last row already returned, newest first.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findInboxPageBefore(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+    
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff ORDER BY n.createdAt")
+    List<Long> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN (:ids)")
+    int deleteByIds(@Param("ids") List<Long> ids);
+    
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.isRead = false")
     Long countUnreadByUserId(@Param("userId") Long userId);
     
+    /**
+     * Unread counts for many users in one query; users with nothing unread are absent.
+     */
+    @Query("SELECT n.userId AS userId, COUNT(n) AS count FROM Notification n " +
+           "WHERE n.userId IN :userIds AND n.isRead = false GROUP BY n.userId")
+    List<UserUnreadCount> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+    
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true WHERE n.userId = :userId")
-    void markAllAsReadByUserId(@Param("userId") Long userId);
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
     
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :notificationId")
-    void markAsReadById(@Param("notificationId") Long notificationId);
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.id = :notificationId AND n.userId = :userId AND n.isRead = false")
+    int markAsReadById(@Param("notificationId") Long notificationId, @Param("userId") Long userId);
+    
+    interface UserUnreadCount {
+        Long getUserId();
+        long getCount();
+    }
 }
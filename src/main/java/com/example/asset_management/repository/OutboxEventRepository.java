@@ -2,6 +2,7 @@ package com.example.asset_management.repository;
 
 import com.example.asset_management.model.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -29,4 +30,44 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
     
     @Query("SELECT oe FROM OutboxEvent oe WHERE oe.sentAt IS NOT NULL ORDER BY oe.sentAt DESC")
     List<OutboxEvent> findRecentSentEvents(@Param("limit") Integer limit);
-}
\ No newline at end of file
+    
+    /**
+     * Claims a batch of unsent events that are due for an attempt. SKIP LOCKED lets several
+     * relay nodes run concurrently, each taking a disjoint batch; locks are held until commit.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE sent_at IS NULL AND retry_count < :maxRetries " +
+                   "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+                   "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimUnsentBatch(@Param("maxRetries") int maxRetries,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("batchSize") int batchSize);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent oe SET oe.sentAt = :sentAt WHERE oe.id IN (:ids)")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    /**
+     * Schedules the next attempt with exponential backoff (baseDelay * 2^retryCount) and bumps the
+     * retry count. next_attempt_at is assigned first so it sees the pre-increment retry_count.
+     */
+    @Modifying
+    @Query(value = "UPDATE outbox_events SET " +
+                   "next_attempt_at = DATE_ADD(:now, INTERVAL (:baseDelaySeconds * POW(2, retry_count)) SECOND), " +
+                   "retry_count = retry_count + 1 WHERE id IN (:ids)", nativeQuery = true)
+    int markFailed(@Param("ids") List<Long> ids,
+                   @Param("now") LocalDateTime now,
+                   @Param("baseDelaySeconds") int baseDelaySeconds);
+    
+    /**
+     * Unsent events the relay will still attempt; rows past the retry limit are counted by
+     * {@link #countDead(Integer)}.
+     */
+    @Query("SELECT COUNT(oe) FROM OutboxEvent oe WHERE oe.sentAt IS NULL AND oe.retryCount < :maxRetries")
+    long countUnsent(@Param("maxRetries") Integer maxRetries);
+    
+    @Query("SELECT COUNT(oe) FROM OutboxEvent oe WHERE oe.sentAt IS NULL AND oe.retryCount >= :maxRetries")
+    long countDead(@Param("maxRetries") Integer maxRetries);
+    
+    @Query("SELECT MIN(oe.createdAt) FROM OutboxEvent oe WHERE oe.sentAt IS NULL AND oe.retryCount < :maxRetries")
+    LocalDateTime findOldestUnsentCreatedAt(@Param("maxRetries") Integer maxRetries);
+}
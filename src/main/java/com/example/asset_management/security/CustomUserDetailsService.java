@@ -4,26 +4,83 @@ import com.example.asset_management.model.Role;
 import com.example.asset_management.model.User;
 import com.example.asset_management.repository.RoleRepository;
 import com.example.asset_management.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.asset_management.service.KafkaEventService;
+import com.example.asset_management.service.ManagerDirectoryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Objects;
+import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    public static final String CACHE_NAME = "user-details";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final KafkaEventService kafkaEventService;
+    private final ManagerDirectoryService managerDirectoryService;
+
+    // Holds the resolved fields rather than UserDetails itself, since Spring Security erases
+    // credentials on the principal instance after authentication
+    private final Cache<String, CachedPrincipal> principals;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    RoleRepository roleRepository,
+                                    KafkaEventService kafkaEventService,
+                                    ManagerDirectoryService managerDirectoryService,
+                                    @Value("${app.cache.user-details.max-size:10000}") long maxSize,
+                                    @Value("${app.cache.user-details.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.kafkaEventService = kafkaEventService;
+        this.managerDirectoryService = managerDirectoryService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedPrincipal principal = principals.get(username, this::loadPrincipal);
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(principal.username())
+                .password(principal.passwordHash())
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.roleName())))
+                .accountExpired(false)
+                .accountLocked(!principal.active())
+                .credentialsExpired(false)
+                .disabled(!principal.active())
+                .build();
+    }
+
+    /**
+     * Resolves a username to its user id from the principal cache, querying only on a miss.
+     */
+    public Long getUserId(String username) {
+        return principals.get(username, this::loadPrincipal).userId();
+    }
+
+    private CachedPrincipal loadPrincipal(String username) {
         User user = userRepository.findActiveByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
@@ -40,14 +97,46 @@ public class CustomUserDetailsService implements UserDetailsService {
             }
         }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + roleName)))
-                .accountExpired(false)
-                .accountLocked(!user.getIsActive())
-                .credentialsExpired(false)
-                .disabled(!user.getIsActive())
-                .build();
+        return new CachedPrincipal(user.getId(), user.getUsername(), user.getPasswordHash(),
+                roleName, Boolean.TRUE.equals(user.getIsActive()));
+    }
+
+    /**
+     * Evicts a user on this node once the surrounding transaction commits, then tells
+     * the other nodes to do the same.
+     */
+    public void invalidate(Long userId) {
+        Runnable invalidation = () -> {
+            evict(userId);
+            kafkaEventService.publishCacheInvalidationEvent(CACHE_NAME, userId, nodeId);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    /**
+     * Drops the local entry by user id, which also covers a username that has just changed.
+     * The same changes can move a user in or out of the manager list, so that is dropped too.
+     */
+    public void evict(Long userId) {
+        principals.asMap().values().removeIf(principal -> Objects.equals(principal.userId(), userId));
+        managerDirectoryService.invalidate();
+        log.debug("Evicted user {} from user details cache", userId);
+    }
+
+    public Cache<String, CachedPrincipal> getNativeCache() {
+        return principals;
+    }
+
+    public record CachedPrincipal(Long userId, String username, String passwordHash, String roleName, boolean active) {
     }
 }
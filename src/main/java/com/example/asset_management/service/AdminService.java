@@ -1,7 +1,9 @@
 package com.example.asset_management.service;
 
+import com.example.asset_management.config.AppProperties;
 import com.example.asset_management.dto.CreateAssetRequest;
 import com.example.asset_management.dto.CreateUserRequest;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.model.Asset;
 import com.example.asset_management.model.Asset.AssetStatus;
 import com.example.asset_management.model.AssetCategory;
@@ -13,18 +15,18 @@ import com.example.asset_management.repository.AssetRepository;
 import com.example.asset_management.repository.DepartmentRepository;
 import com.example.asset_management.repository.RoleRepository;
 import com.example.asset_management.repository.UserRepository;
+import com.example.asset_management.security.CustomUserDetailsService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -37,6 +39,11 @@ public class AdminService {
     private final DepartmentRepository departmentRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final AssetCategoryCacheService assetCategoryCacheService;
+    private final AssetStatisticsService assetStatisticsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final AppProperties appProperties;
 
     // Asset Management Methods
     @Transactional
@@ -67,9 +74,27 @@ public class AdminService {
         return savedAsset;
     }
 
-    public List<Asset> getAllAssets(String adminUsername) {
-        log.info("Admin {} retrieving all assets", adminUsername);
-        return assetRepository.findAllOrderedByAssetTag();
+    public CursorPageResponse<Asset> getAssetsPage(String cursor, AssetStatus status, Long categoryId,
+                                                   Integer limit, String adminUsername) {
+        log.info("Admin {} retrieving assets page after: {}", adminUsername, cursor);
+
+        int pageSize = appProperties.getPagination().resolvePageSize(limit);
+        List<Asset> assets = assetRepository.findPageAfterAssetTag(
+                cursor, status, categoryId, CursorPageResponse.fetchRequest(pageSize));
+
+        return CursorPageResponse.fromRows(assets, pageSize, Asset::getAssetTag);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAssets(AssetStatus status, Long categoryId, Consumer<Asset> consumer, String adminUsername) {
+        log.info("Admin {} streaming assets", adminUsername);
+
+        try (Stream<Asset> assets = assetRepository.streamAllOrderedByAssetTag(status, categoryId)) {
+            assets.forEach(asset -> {
+                consumer.accept(asset);
+                entityManager.detach(asset);
+            });
+        }
     }
 
     public Asset getAssetById(Long id, String adminUsername) {
@@ -126,77 +151,6 @@ public class AdminService {
         log.info("Asset deleted successfully: {}", id);
     }
 
-    @Transactional
-    public Map<String, Object> bulkImportAssets(MultipartFile file, String adminUsername) {
-        log.info("Admin {} importing assets from file: {}", adminUsername, file.getOriginalFilename());
-        
-        Map<String, Object> result = new HashMap<>();
-        List<Asset> importedAssets = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int successCount = 0;
-        int errorCount = 0;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue; // Skip header
-                }
-                
-                                    try {
-                        String[] values = line.split(",");
-                        if (values.length >= 6) {
-                            Asset asset = new Asset();
-                            asset.setAssetTag(values[0].trim());
-                            asset.setName(values[1].trim());
-                            asset.setDescription(values[2].trim());
-                            // Note: categoryName would need to be converted to categoryId
-                            // For now, we'll set a default categoryId
-                            asset.setCategoryId(1L); // Default category
-                            asset.setPurchaseDate(LocalDate.parse(values[4].trim()));
-                            asset.setWarrantyExpiry(LocalDate.parse(values[5].trim()));
-                            asset.setStatus(AssetStatus.available);
-                            asset.setCreatedAt(LocalDateTime.now());
-                        
-                        // Check if asset tag already exists
-                        if (assetRepository.findByAssetTag(asset.getAssetTag()).isEmpty()) {
-                            importedAssets.add(asset);
-                            successCount++;
-                        } else {
-                            errors.add("Asset tag already exists: " + asset.getAssetTag());
-                            errorCount++;
-                        }
-                    } else {
-                        errors.add("Invalid data format in line: " + line);
-                        errorCount++;
-                    }
-                } catch (Exception e) {
-                    errors.add("Error processing line: " + line + " - " + e.getMessage());
-                    errorCount++;
-                }
-            }
-            
-            // Save all valid assets
-            if (!importedAssets.isEmpty()) {
-                assetRepository.saveAll(importedAssets);
-            }
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing CSV file: " + e.getMessage());
-        }
-
-        result.put("successCount", successCount);
-        result.put("errorCount", errorCount);
-        result.put("errors", errors);
-        result.put("importedAssets", importedAssets);
-        
-        log.info("Bulk import completed: {} successful, {} errors", successCount, errorCount);
-        return result;
-    }
-
     public List<AssetCategory> getAllAssetCategories() {
         log.info("Retrieving all asset categories");
         return assetCategoryRepository.findAll();
@@ -214,6 +168,7 @@ public class AdminService {
         
         category.setCreatedAt(LocalDateTime.now());
         AssetCategory savedCategory = assetCategoryRepository.save(category);
+        assetCategoryCacheService.invalidate(savedCategory.getId());
         log.info("Asset category created successfully: {}", savedCategory.getId());
         return savedCategory;
     }
@@ -229,6 +184,7 @@ public class AdminService {
         existingCategory.setDescription(category.getDescription());
         
         AssetCategory updatedCategory = assetCategoryRepository.save(existingCategory);
+        assetCategoryCacheService.invalidate(updatedCategory.getId());
         log.info("Asset category updated successfully: {}", updatedCategory.getId());
         return updatedCategory;
     }
@@ -247,6 +203,7 @@ public class AdminService {
         }
         
         assetCategoryRepository.delete(category);
+        assetCategoryCacheService.invalidate(id);
         log.info("Asset category deleted successfully: {}", id);
     }
 
@@ -286,6 +243,7 @@ public class AdminService {
         user.setCreatedAt(LocalDateTime.now());
         
         User savedUser = userRepository.save(user);
+        userDetailsService.invalidate(savedUser.getId());
         log.info("User created successfully: {}", savedUser.getId());
         return savedUser;
     }
@@ -332,6 +290,7 @@ public class AdminService {
         existingUser.setUpdatedAt(LocalDateTime.now());
         
         User updatedUser = userRepository.save(existingUser);
+        userDetailsService.invalidate(updatedUser.getId());
         log.info("User updated successfully: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -350,6 +309,7 @@ public class AdminService {
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsService.invalidate(id);
         
         log.info("User deactivated successfully: {}", id);
     }
@@ -367,6 +327,7 @@ public class AdminService {
         user.setDepartmentId(1L); // Default department ID
         
         User updatedUser = userRepository.save(user);
+        userDetailsService.invalidate(updatedUser.getId());
         log.info("User role updated successfully: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -381,6 +342,7 @@ public class AdminService {
         user.setIsActive(active);
         
         User updatedUser = userRepository.save(user);
+        userDetailsService.invalidate(updatedUser.getId());
         log.info("User status updated successfully: {}", updatedUser.getId());
         return updatedUser;
     }
@@ -419,10 +381,11 @@ public class AdminService {
         
         Map<String, Object> report = new HashMap<>();
         
-        long totalAssets = assetRepository.count();
-        long availableAssets = assetRepository.countByStatus(AssetStatus.available);
-        long loanedAssets = assetRepository.countByStatus(AssetStatus.loaned);
-        long maintenanceAssets = assetRepository.countByStatus(AssetStatus.maintenance);
+        AssetStatisticsService.Snapshot snapshot = assetStatisticsService.getSnapshot();
+        long totalAssets = snapshot.totalAssets();
+        long availableAssets = snapshot.countByStatus(AssetStatus.available);
+        long loanedAssets = snapshot.countByStatus(AssetStatus.loaned);
+        long maintenanceAssets = snapshot.countByStatus(AssetStatus.maintenance);
         
         report.put("totalAssets", totalAssets);
         report.put("availableAssets", availableAssets);
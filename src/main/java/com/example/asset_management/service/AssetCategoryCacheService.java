@@ -0,0 +1,145 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.model.AssetCategory;
+import com.example.asset_management.repository.AssetCategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-process id -> name cache for asset categories. The table is loaded in full at startup so
+ * asset reads never query it; changes made through AdminService reload the local entry after
+ * commit and are broadcast over Kafka so every other node reloads it as well. Entries are
+ * replaced rather than just dropped, so the cache keeps holding every category.
+ */
+@Slf4j
+@Service
+public class AssetCategoryCacheService {
+
+    private final AssetCategoryRepository assetCategoryRepository;
+    private final KafkaEventService kafkaEventService;
+    private final Cache<Long, String> categoryNames;
+
+    // Identifies this node so it can ignore its own invalidation broadcasts
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public AssetCategoryCacheService(AssetCategoryRepository assetCategoryRepository,
+                                     KafkaEventService kafkaEventService,
+                                     @Value("${app.cache.category.max-size:10000}") long maxSize) {
+        this.assetCategoryRepository = assetCategoryRepository;
+        this.kafkaEventService = kafkaEventService;
+        this.categoryNames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadAll() {
+        Map<Long, String> names = assetCategoryRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(AssetCategory::getId, AssetCategory::getName));
+        categoryNames.invalidateAll();
+        categoryNames.putAll(names);
+        log.info("Loaded {} asset categories into cache", names.size());
+    }
+
+    /**
+     * Returns the category name, or null if no such category exists.
+     */
+    public String getCategoryName(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return categoryNames.get(categoryId, id -> assetCategoryRepository.findById(id)
+                .map(AssetCategory::getName)
+                .orElse(null));
+    }
+
+    /**
+     * Resolves names for all given ids; unknown ids are absent from the result.
+     */
+    public Map<Long, String> getCategoryNames(Collection<Long> categoryIds) {
+        return categoryNames.getAll(categoryIds, missingIds -> {
+            Map<Long, String> loaded = new HashMap<>();
+            assetCategoryRepository.findAllById(missingIds)
+                    .forEach(category -> loaded.put(category.getId(), category.getName()));
+            return loaded;
+        });
+    }
+
+    /**
+     * Snapshot of every category; complete once the startup load has run, since created and
+     * renamed categories are reloaded rather than evicted.
+     */
+    public Map<Long, String> getAllCategoryNames() {
+        return Map.copyOf(categoryNames.asMap());
+    }
+
+    public boolean exists(Long categoryId) {
+        return getCategoryName(categoryId) != null;
+    }
+
+    /**
+     * Reloads a category on this node once the surrounding transaction commits, then tells
+     * the other nodes to do the same.
+     */
+    public void invalidate(Long categoryId) {
+        Runnable invalidation = () -> {
+            reload(categoryId);
+            kafkaEventService.publishCacheInvalidationEvent("asset-categories", categoryId, nodeId);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    /**
+     * Replaces the local entry with the committed row, or drops it if the category was deleted.
+     */
+    public void reload(Long categoryId) {
+        assetCategoryRepository.findById(categoryId).ifPresentOrElse(
+                category -> categoryNames.put(categoryId, category.getName()),
+                () -> categoryNames.invalidate(categoryId));
+        log.debug("Reloaded asset category {} into cache", categoryId);
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = categoryNames.stats();
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("size", categoryNames.estimatedSize());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("evictionCount", stats.evictionCount());
+        return statistics;
+    }
+
+    public Cache<Long, String> getNativeCache() {
+        return categoryNames;
+    }
+}
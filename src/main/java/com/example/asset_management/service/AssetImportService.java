@@ -0,0 +1,378 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.dto.AssetImportJob;
+import com.example.asset_management.model.Asset.AssetStatus;
+import com.example.asset_management.model.AssetCategory;
+import com.example.asset_management.repository.AssetCategoryRepository;
+import com.example.asset_management.repository.AssetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports assets from CSV in the background. The upload is spooled to a temp file, parsed as a
+ * stream and written in chunks, each chunk checked for existing tags with one IN query and
+ * inserted with a single JDBC batch in its own transaction. Job progress is written to
+ * asset_import_jobs once per chunk, so the status can be polled through any node. The import
+ * itself runs on the node that received the upload; if that node shuts down first the job is
+ * marked failed and has to be resubmitted.
+ */
+@Slf4j
+@Service
+public class AssetImportService {
+
+    private static final String[] HEADERS = {
+        "assetTag", "name", "description", "categoryName", "purchaseDate", "warrantyExpiry"
+    };
+
+    private static final String INSERT_SQL =
+        "INSERT INTO assets (asset_tag, name, description, category_id, status, purchase_date, " +
+        "warranty_expiry, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_JOB_SQL =
+        "INSERT INTO asset_import_jobs (job_id, file_name, requested_by, node_id, status, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_JOB_SQL =
+        "UPDATE asset_import_jobs SET status = ?, rows_processed = ?, imported_count = ?, error_count = ?, " +
+        "errors = ?, failure_reason = ?, started_at = ?, finished_at = ? WHERE job_id = ?";
+
+    private static final String SELECT_JOB_SQL =
+        "SELECT job_id, file_name, requested_by, status, rows_processed, imported_count, error_count, errors, " +
+        "failure_reason, created_at, started_at, finished_at FROM asset_import_jobs WHERE job_id = ?";
+
+    private static final String DELETE_JOB_SQL = "DELETE FROM asset_import_jobs WHERE job_id = ?";
+
+    private static final String PURGE_JOBS_SQL = "DELETE FROM asset_import_jobs WHERE created_at < ?";
+
+    private static final String INTERRUPT_JOBS_SQL =
+        "UPDATE asset_import_jobs SET status = 'FAILED', failure_reason = ?, finished_at = ? " +
+        "WHERE node_id = ? AND status IN ('QUEUED', 'RUNNING')";
+
+    private static final TypeReference<List<String>> ERROR_LIST = new TypeReference<>() {};
+
+    private final AssetRepository assetRepository;
+    private final AssetCategoryRepository assetCategoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final int chunkSize;
+    private final int maxErrors;
+    private final long jobRetentionHours;
+
+    public AssetImportService(AssetRepository assetRepository,
+                              AssetCategoryRepository assetCategoryRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${app.import.chunk-size:1000}") int chunkSize,
+                              @Value("${app.import.max-errors:1000}") int maxErrors,
+                              @Value("${app.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                              @Value("${app.import.job-retention-hours:24}") long jobRetentionHours) {
+        this.assetRepository = assetRepository;
+        this.assetCategoryRepository = assetCategoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.jobRetentionHours = jobRetentionHours;
+
+        this.importExecutor = new ThreadPoolTaskExecutor();
+        this.importExecutor.setCorePoolSize(maxConcurrentJobs);
+        this.importExecutor.setMaxPoolSize(maxConcurrentJobs);
+        this.importExecutor.setQueueCapacity(100);
+        this.importExecutor.setThreadNamePrefix("asset-import-");
+        this.importExecutor.initialize();
+    }
+
+    /**
+     * Spools the upload and queues the import; returns immediately with the job to poll.
+     * Throws {@link TaskRejectedException} when the import queue is full, leaving no job or
+     * spool file behind.
+     */
+    public AssetImportJob submitImport(MultipartFile file, String adminUsername) {
+        Path spoolFile;
+        try {
+            spoolFile = Files.createTempFile("asset-import-", ".csv");
+            file.transferTo(spoolFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Error storing CSV file: " + e.getMessage());
+        }
+
+        AssetImportJob job = new AssetImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), adminUsername);
+        jdbcTemplate.update(PURGE_JOBS_SQL, Timestamp.valueOf(job.getCreatedAt().minusHours(jobRetentionHours)));
+        jdbcTemplate.update(INSERT_JOB_SQL, job.getJobId(), job.getFileName(), job.getRequestedBy(), nodeId,
+                job.getStatus().name(), Timestamp.valueOf(job.getCreatedAt()));
+        try {
+            importExecutor.execute(() -> runImport(job, spoolFile));
+        } catch (TaskRejectedException e) {
+            jdbcTemplate.update(DELETE_JOB_SQL, job.getJobId());
+            deleteSpoolFile(spoolFile);
+            log.warn("Rejected asset import for file {}: import queue is full", file.getOriginalFilename());
+            throw new TaskRejectedException("Too many asset imports in progress, please try again later", e);
+        }
+
+        log.info("Admin {} queued asset import {} for file {}", adminUsername, job.getJobId(), file.getOriginalFilename());
+        return job;
+    }
+
+    public Optional<AssetImportJob> getJob(String jobId) {
+        return jdbcTemplate.query(SELECT_JOB_SQL, (rs, rowNum) -> {
+            AssetImportJob job = new AssetImportJob(rs.getString("job_id"), rs.getString("file_name"),
+                    rs.getString("requested_by"), toLocalDateTime(rs.getTimestamp("created_at")));
+            job.setStatus(AssetImportJob.Status.valueOf(rs.getString("status")));
+            job.getRowsProcessed().set(rs.getLong("rows_processed"));
+            job.getImportedCount().set(rs.getLong("imported_count"));
+            job.getErrorCount().set(rs.getLong("error_count"));
+            job.getErrors().addAll(readErrors(rs.getString("errors")));
+            job.setFailureReason(rs.getString("failure_reason"));
+            job.setStartedAt(toLocalDateTime(rs.getTimestamp("started_at")));
+            job.setFinishedAt(toLocalDateTime(rs.getTimestamp("finished_at")));
+            return job;
+        }, jobId).stream().findFirst();
+    }
+
+    private void runImport(AssetImportJob job, Path spoolFile) {
+        job.setStatus(AssetImportJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        saveProgress(job);
+
+        // Read from the table rather than the cache so categories created since startup resolve
+        Map<String, Long> categoryIdsByName = new HashMap<>();
+        for (AssetCategory category : assetCategoryRepository.findAll()) {
+            categoryIdsByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category.getId());
+        }
+        Set<String> seenTags = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader(HEADERS)
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        try (Reader reader = Files.newBufferedReader(spoolFile, StandardCharsets.UTF_8);
+             CSVParser parser = format.parse(reader)) {
+
+            for (CSVRecord record : parser) {
+                job.getRowsProcessed().incrementAndGet();
+                ImportRow row = parseRow(record, categoryIdsByName, job);
+                if (row == null) {
+                    continue;
+                }
+                if (!seenTags.add(row.assetTag())) {
+                    job.addError("Line " + record.getRecordNumber() + ": duplicate asset tag in file: " + row.assetTag(), maxErrors);
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, job);
+                    chunk.clear();
+                    saveProgress(job);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, job);
+            }
+
+            job.setStatus(AssetImportJob.Status.COMPLETED);
+            log.info("Asset import {} completed: {} imported, {} errors",
+                    job.getJobId(), job.getImportedCount().get(), job.getErrorCount().get());
+
+        } catch (Exception e) {
+            job.setStatus(AssetImportJob.Status.FAILED);
+            job.setFailureReason(e.getMessage());
+            log.error("Asset import {} failed after {} rows", job.getJobId(), job.getRowsProcessed().get(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            saveProgress(job);
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    /**
+     * Writes the job's current state to asset_import_jobs. A failed write only delays what
+     * pollers see, so it is logged rather than allowed to stop the import.
+     */
+    private void saveProgress(AssetImportJob job) {
+        try {
+            jdbcTemplate.update(UPDATE_JOB_SQL,
+                    job.getStatus().name(),
+                    job.getRowsProcessed().get(),
+                    job.getImportedCount().get(),
+                    job.getErrorCount().get(),
+                    job.getErrors().isEmpty() ? null : objectMapper.writeValueAsString(job.getErrors()),
+                    job.getFailureReason(),
+                    job.getStartedAt() != null ? Timestamp.valueOf(job.getStartedAt()) : null,
+                    job.getFinishedAt() != null ? Timestamp.valueOf(job.getFinishedAt()) : null,
+                    job.getJobId());
+        } catch (Exception e) {
+            log.warn("Could not save progress of asset import {}", job.getJobId(), e);
+        }
+    }
+
+    private List<String> readErrors(String errors) {
+        if (errors == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(errors, ERROR_LIST);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable error list on asset import job: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}", spoolFile, e);
+        }
+    }
+
+    private ImportRow parseRow(CSVRecord record, Map<String, Long> categoryIdsByName, AssetImportJob job) {
+        long lineNumber = record.getRecordNumber();
+        if (record.size() < HEADERS.length) {
+            job.addError("Line " + lineNumber + ": expected " + HEADERS.length + " columns but found " + record.size(), maxErrors);
+            return null;
+        }
+
+        String assetTag = record.get("assetTag");
+        String name = record.get("name");
+        if (assetTag.isEmpty() || name.isEmpty()) {
+            job.addError("Line " + lineNumber + ": asset tag and name are required", maxErrors);
+            return null;
+        }
+
+        String categoryName = record.get("categoryName");
+        Long categoryId = categoryIdsByName.get(categoryName.toLowerCase(Locale.ROOT));
+        if (categoryId == null) {
+            job.addError("Line " + lineNumber + ": unknown category: " + categoryName, maxErrors);
+            return null;
+        }
+
+        try {
+            return new ImportRow(
+                    assetTag,
+                    name,
+                    record.get("description"),
+                    categoryId,
+                    parseDate(record.get("purchaseDate")),
+                    parseDate(record.get("warrantyExpiry")));
+        } catch (Exception e) {
+            job.addError("Line " + lineNumber + ": " + e.getMessage(), maxErrors);
+            return null;
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    /**
+     * Drops rows whose tags already exist and inserts the rest as one JDBC batch in its own transaction.
+     */
+    private void writeChunk(List<ImportRow> chunk, AssetImportJob job) {
+        Set<String> existingTags = new HashSet<>(assetRepository.findExistingAssetTags(
+                chunk.stream().map(ImportRow::assetTag).toList()));
+
+        List<ImportRow> toInsert = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existingTags.contains(row.assetTag())) {
+                job.addError("Asset tag already exists: " + row.assetTag(), maxErrors);
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(), (ps, row) -> {
+                        ps.setString(1, row.assetTag());
+                        ps.setString(2, row.name());
+                        ps.setString(3, row.description());
+                        ps.setLong(4, row.categoryId());
+                        ps.setString(5, AssetStatus.available.name());
+                        ps.setDate(6, row.purchaseDate() != null ? Date.valueOf(row.purchaseDate()) : null);
+                        ps.setDate(7, row.warrantyExpiry() != null ? Date.valueOf(row.warrantyExpiry()) : null);
+                        ps.setTimestamp(8, now);
+                        ps.setTimestamp(9, now);
+                    }));
+            job.getImportedCount().addAndGet(toInsert.size());
+        } catch (Exception e) {
+            // A concurrent insert of the same tag rolls back the whole chunk; report it and move on
+            log.warn("Asset import {} chunk of {} rows failed", job.getJobId(), toInsert.size(), e);
+            for (ImportRow row : toInsert) {
+                job.addError("Failed to insert asset " + row.assetTag() + ": " + e.getMessage(), maxErrors);
+            }
+        }
+    }
+
+    /**
+     * Stops the workers and marks this node's unfinished jobs failed, since their spool files do
+     * not outlive the node and no other node can pick them up.
+     */
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdown();
+        try {
+            int interrupted = jdbcTemplate.update(INTERRUPT_JOBS_SQL,
+                    "Import interrupted by a node shutdown, please resubmit the file",
+                    Timestamp.valueOf(LocalDateTime.now()), nodeId);
+            if (interrupted > 0) {
+                log.warn("Marked {} unfinished asset imports as failed on shutdown", interrupted);
+            }
+        } catch (Exception e) {
+            log.warn("Could not mark unfinished asset imports as failed", e);
+        }
+    }
+
+    private record ImportRow(String assetTag, String name, String description, Long categoryId,
+                             LocalDate purchaseDate, LocalDate warrantyExpiry) {
+    }
+}
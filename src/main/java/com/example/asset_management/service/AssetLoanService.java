@@ -3,8 +3,12 @@ package com.example.asset_management.service;
 import com.example.asset_management.dto.AssetAssignmentRequest;
 import com.example.asset_management.dto.AssetLoanResponse;
 import com.example.asset_management.dto.AssetReturnRequest;
-import com.example.asset_management.dto.NotificationMessage;
-import com.example.asset_management.service.NotificationService;
+import com.example.asset_management.event.LoanApprovedEvent;
+import com.example.asset_management.event.LoanAssignedEvent;
+import com.example.asset_management.event.LoanRejectedEvent;
+import com.example.asset_management.event.LoanRequestedEvent;
+import com.example.asset_management.event.LoanReturnedEvent;
+import com.example.asset_management.exception.AssetConflictException;
 import com.example.asset_management.model.Asset;
 import com.example.asset_management.model.Asset.AssetStatus;
 import com.example.asset_management.model.AssetLoan;
@@ -16,18 +20,26 @@ import com.example.asset_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-
+/**
+ * Loan lifecycle. Each transition does its SQL (including the outbox row for Kafka) inside the
+ * transaction and publishes a {@link com.example.asset_management.event.LoanEvent};
+ * {@link LoanEventListener} sends the WebSocket pushes and notifications after commit.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -38,9 +50,8 @@ public class AssetLoanService {
     private final UserRepository userRepository;
     private final AuthService authService;
     private final EventService eventService;
-    private final KafkaEventService kafkaEventService;
-    private final WebSocketNotificationService webSocketNotificationService;
-    private final NotificationService notificationService;
+    private final DueDateTimerService dueDateTimerService;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Value("${app.loan.approval-threshold-days:7}")
     private int approvalThresholdDays;
@@ -50,20 +61,6 @@ public class AssetLoanService {
         User user = userRepository.findActiveByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Asset asset = assetRepository.findById(request.getAssetId())
-                .orElseThrow(() -> new RuntimeException("Asset not found"));
-
-        // Check if asset is available
-        if (asset.getStatus() != AssetStatus.available) {
-            throw new RuntimeException("Asset is not available for assignment");
-        }
-
-        // Check if asset is already loaned
-        Optional<AssetLoan> existingLoan = assetLoanRepository.findActiveLoanByAssetId(asset.getId());
-        if (existingLoan.isPresent()) {
-            throw new RuntimeException("Asset is already assigned to another user");
-        }
-
         // Calculate loan duration
         long daysBetween = ChronoUnit.DAYS.between(LocalDateTime.now(), request.getDueAt());
         
@@ -71,6 +68,20 @@ public class AssetLoanService {
         LoanStatus status = daysBetween > approvalThresholdDays ? 
                 LoanStatus.pending_approval : LoanStatus.loaned;
 
+        // Claim the asset atomically; of concurrent requests only one sees an affected row
+        if (status == LoanStatus.loaned) {
+            claimAsset(request.getAssetId());
+        }
+
+        // Loaded after the claim so it reflects the new status
+        Asset asset = assetRepository.findById(request.getAssetId())
+                .orElseThrow(() -> new RuntimeException("Asset not found"));
+
+        // Pending requests leave the asset available; the open-loan unique index arbitrates between them
+        if (asset.getStatus() != AssetStatus.available && status == LoanStatus.pending_approval) {
+            throw new RuntimeException("Asset is not available for assignment");
+        }
+
         AssetLoan loan = new AssetLoan();
         loan.setAssetId(asset.getId());
         loan.setUserId(user.getId());
@@ -80,53 +91,20 @@ public class AssetLoanService {
         loan.setApprovedAt(status == LoanStatus.loaned ? LocalDateTime.now() : null);
         loan.setDueAt(request.getDueAt());
 
-        AssetLoan savedLoan = assetLoanRepository.save(loan);
+        AssetLoan savedLoan = saveNewLoan(loan);
 
-        // Update asset status only if immediately approved
+        // Notify right away only if immediately approved
         if (status == LoanStatus.loaned) {
-            asset.setStatus(AssetStatus.loaned);
-            assetRepository.save(asset);
-            
-            // Publish events
+            // Publish events (relayed to Kafka from the outbox after commit)
             eventService.publishAssetAssignedEvent(savedLoan);
-            kafkaEventService.publishAssetAssignedEvent(savedLoan);
-            
-            // Send immediate WebSocket notification
-            webSocketNotificationService.sendAssetEventNotification(
-                user.getUsername(),
-                "AssetAssigned",
-                asset.getName(),
-                String.format("Asset '%s' has been assigned to you. Due date: %s", 
-                    asset.getName(), request.getDueAt())
-            );
+            dueDateTimerService.track(savedLoan);
+            applicationEventPublisher.publishEvent(new LoanAssignedEvent(
+                savedLoan.getId(), user.getUsername(), asset.getName(), request.getDueAt()));
         } else if (status == LoanStatus.pending_approval) {
-            // Keep asset available until approved
-            // Send approval request notification to managers
-            webSocketNotificationService.sendApprovalRequestNotification(
-                user.getFirstName() + " " + user.getLastName(),
-                asset.getName()
-            );
-            
-            // Send confirmation to employee that request is pending approval
-            webSocketNotificationService.sendLoanStatusNotification(
-                user.getUsername(),
-                "Pending Approval",
-                asset.getName(),
-                String.format("Your request for asset '%s' has been submitted and is pending manager approval", asset.getName())
-            );
-            
-            // Create notification for managers about new loan request
-            // Find all managers and notify them
-            List<User> managers = userRepository.findByRoleName("MANAGER");
-            for (User manager : managers) {
-                notificationService.notifyNewLoanRequest(
-                    manager.getId(),
-                    user.getFirstName() + " " + user.getLastName(),
-                    asset.getName(),
-                    asset.getAssetTag(),
-                    savedLoan.getId()
-                );
-            }
+            // Keep asset available until approved; the employee and all managers are told after commit
+            applicationEventPublisher.publishEvent(new LoanRequestedEvent(
+                savedLoan.getId(), user.getUsername(), user.getFirstName() + " " + user.getLastName(),
+                asset.getName(), asset.getAssetTag()));
         }
 
         log.info("Asset {} assigned to user {} with status {}", asset.getAssetTag(), username, status);
@@ -154,51 +132,51 @@ public class AssetLoanService {
         loan.setApprovedAt(LocalDateTime.now());
         AssetLoan savedLoan = assetLoanRepository.save(loan);
 
-        // Get asset info and update its status
+        // Claim the asset atomically, then load it with its new status
+        claimAsset(loan.getAssetId());
         Asset asset = assetRepository.findById(loan.getAssetId())
                 .orElseThrow(() -> new RuntimeException("Asset not found"));
-        asset.setStatus(AssetStatus.loaned);
-        assetRepository.save(asset);
-
-        // Create notification for the employee
-        notificationService.notifyLoanApproved(loan.getUserId(), asset.getName(), asset.getAssetTag(), loan.getId());
 
-        // Publish events
+        // Publish events (relayed to Kafka from the outbox after commit)
         eventService.publishAssetAssignedEvent(savedLoan);
-        kafkaEventService.publishAssetAssignedEvent(savedLoan);
+        dueDateTimerService.track(savedLoan);
 
-        // Send notifications
-        User loanUser = userRepository.findById(loan.getUserId()).orElse(null);
-        
-        if (loanUser != null && asset != null) {
-            // Notify employee that their request was approved
-            webSocketNotificationService.sendLoanStatusNotification(
-                loanUser.getUsername(),
-                "Approved",
-                asset.getName(),
-                String.format("Your request for asset '%s' has been approved by %s", 
-                    asset.getName(), approver.getFirstName() + " " + approver.getLastName())
-            );
-            
-            // Notify other managers that the approval was handled
-            webSocketNotificationService.sendNotificationToManagers(
-                NotificationMessage.builder()
-                    .type("APPROVAL_COMPLETED")
-                    .title("Loan Approved")
-                    .message(String.format("%s approved %s's request for asset '%s'", 
-                        approver.getFirstName() + " " + approver.getLastName(),
-                        loanUser.getFirstName() + " " + loanUser.getLastName(),
-                        asset.getName()))
-                    .severity("success")
-                    .build()
-            );
-        }
+        // The employee's notification and the WebSocket pushes follow after commit
+        applicationEventPublisher.publishEvent(new LoanApprovedEvent(
+            savedLoan.getId(), savedLoan.getUserId(), asset.getName(), asset.getAssetTag(),
+            approver.getFirstName() + " " + approver.getLastName()));
 
         log.info("Loan {} approved by manager {}", loanId, approverUsername);
         
         return mapToAssetLoanResponse(savedLoan);
     }
 
+    /**
+     * Compare-and-set from available to loaned. Concurrent claims on the same row are serialized
+     * by that single UPDATE, so no read lock is held while the rest of the checkout runs.
+     */
+    private void claimAsset(Long assetId) {
+        int claimed = assetRepository.compareAndSetStatus(
+                assetId, AssetStatus.available, AssetStatus.loaned, LocalDateTime.now());
+        if (claimed == 0) {
+            if (!assetRepository.existsById(assetId)) {
+                throw new RuntimeException("Asset not found");
+            }
+            throw new AssetConflictException(assetId);
+        }
+    }
+
+    /**
+     * Inserts a loan, translating a hit on the one-open-loan-per-asset index into a conflict.
+     */
+    private AssetLoan saveNewLoan(AssetLoan loan) {
+        try {
+            return assetLoanRepository.saveAndFlush(loan);
+        } catch (DataIntegrityViolationException e) {
+            throw new AssetConflictException(loan.getAssetId());
+        }
+    }
+
     @Transactional
     public AssetLoanResponse returnAsset(AssetReturnRequest request, String username) {
         User user = userRepository.findActiveByUsername(username)
@@ -224,17 +202,10 @@ public class AssetLoanService {
         asset.setStatus(AssetStatus.available);
         assetRepository.save(asset);
 
-        // Publish events
+        // Publish events (relayed to Kafka from the outbox after commit)
         eventService.publishAssetReturnedEvent(savedLoan);
-        kafkaEventService.publishAssetReturnedEvent(savedLoan);
-        
-        // Send immediate WebSocket notification
-        webSocketNotificationService.sendAssetEventNotification(
-            user.getUsername(),
-            "AssetReturned",
-            asset.getName(),
-            String.format("Asset '%s' has been returned successfully", asset.getName())
-        );
+        dueDateTimerService.untrack(savedLoan.getId());
+        applicationEventPublisher.publishEvent(new LoanReturnedEvent(savedLoan.getId(), user.getUsername(), asset.getName()));
 
         log.info("Asset {} returned by user {}", asset.getAssetTag(), username);
         
@@ -246,9 +217,7 @@ public class AssetLoanService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         List<AssetLoan> loans = assetLoanRepository.findByUserId(user.getId());
-        return loans.stream()
-                .map(this::mapToAssetLoanResponse)
-                .collect(Collectors.toList());
+        return mapToAssetLoanResponses(loans);
     }
 
     public List<AssetLoanResponse> getPendingApprovals() {
@@ -257,9 +226,7 @@ public class AssetLoanService {
         }
 
         List<AssetLoan> pendingLoans = assetLoanRepository.findPendingApprovals();
-        return pendingLoans.stream()
-                .map(this::mapToAssetLoanResponse)
-                .collect(Collectors.toList());
+        return mapToAssetLoanResponses(pendingLoans);
     }
 
     public List<AssetLoanResponse> getTeamLoans(String managerUsername) {
@@ -276,9 +243,7 @@ public class AssetLoanService {
                 .collect(Collectors.toList());
 
         List<AssetLoan> teamLoans = assetLoanRepository.findByUserIdIn(subordinateIds);
-        return teamLoans.stream()
-                .map(this::mapToAssetLoanResponse)
-                .collect(Collectors.toList());
+        return mapToAssetLoanResponses(teamLoans);
     }
 
     @Transactional
@@ -301,9 +266,6 @@ public class AssetLoanService {
         Asset asset = assetRepository.findById(loan.getAssetId())
                 .orElseThrow(() -> new RuntimeException("Asset not found"));
 
-        // Create notification for the employee before updating
-        notificationService.notifyLoanRejected(loan.getUserId(), asset.getName(), asset.getAssetTag(), loan.getId());
-
         // Update loan status to rejected (keep for audit trail)
         loan.setStatus(LoanStatus.rejected);
         AssetLoan savedLoan = assetLoanRepository.save(loan);
@@ -312,36 +274,13 @@ public class AssetLoanService {
         asset.setStatus(AssetStatus.available);
         assetRepository.save(asset);
 
-        // Publish events
+        // Publish events (relayed to Kafka from the outbox after commit)
         eventService.publishAssetRejectedEvent(savedLoan);
-        kafkaEventService.publishAssetRejectedEvent(savedLoan);
-        
-        // Send immediate WebSocket notification
-        User loanUser = userRepository.findById(loan.getUserId()).orElse(null);
-        
-        if (loanUser != null && asset != null) {
-            // Notify employee that their request was rejected
-            webSocketNotificationService.sendLoanStatusNotification(
-                loanUser.getUsername(),
-                "Rejected",
-                asset.getName(),
-                String.format("Your request for asset '%s' has been rejected by %s", 
-                    asset.getName(), rejector.getFirstName() + " " + rejector.getLastName())
-            );
-            
-            // Notify other managers that the rejection was handled
-            webSocketNotificationService.sendNotificationToManagers(
-                NotificationMessage.builder()
-                    .type("REJECTION_COMPLETED")
-                    .title("Loan Rejected")
-                    .message(String.format("%s rejected %s's request for asset '%s'", 
-                        rejector.getFirstName() + " " + rejector.getLastName(),
-                        loanUser.getFirstName() + " " + loanUser.getLastName(),
-                        asset.getName()))
-                    .severity("warning")
-                    .build()
-            );
-        }
+
+        // The employee's notification and the WebSocket pushes follow after commit
+        applicationEventPublisher.publishEvent(new LoanRejectedEvent(
+            savedLoan.getId(), savedLoan.getUserId(), asset.getName(), asset.getAssetTag(),
+            rejector.getFirstName() + " " + rejector.getLastName()));
 
         log.info("Loan {} rejected by manager {}", loanId, rejectorUsername);
         
@@ -403,10 +342,50 @@ public class AssetLoanService {
         return statistics;
     }
 
+    /**
+     * Optimized method to map multiple loans to responses, avoiding N+1 queries
+     */
+    private List<AssetLoanResponse> mapToAssetLoanResponses(List<AssetLoan> loans) {
+        if (loans.isEmpty()) {
+            return List.of();
+        }
+
+        // Batch load all asset IDs and user IDs (borrowers and assigners)
+        Set<Long> assetIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (AssetLoan loan : loans) {
+            assetIds.add(loan.getAssetId());
+            userIds.add(loan.getUserId());
+            userIds.add(loan.getAssignedById());
+        }
+
+        // Load all assets and users in one query per table
+        Map<Long, Asset> assetMap = assetRepository.findAllById(assetIds)
+                .stream()
+                .collect(Collectors.toMap(Asset::getId, Function.identity()));
+        Map<Long, User> userMap = userRepository.findAllById(userIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return loans.stream()
+                .map(loan -> mapToAssetLoanResponse(loan, assetMap, userMap))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Single loan mapping, loads the related asset and users by ID
+     */
     private AssetLoanResponse mapToAssetLoanResponse(AssetLoan loan) {
-        Asset asset = assetRepository.findById(loan.getAssetId()).orElse(null);
-        User user = userRepository.findById(loan.getUserId()).orElse(null);
-        User assignedBy = userRepository.findById(loan.getAssignedById()).orElse(null);
+        return mapToAssetLoanResponses(List.of(loan)).get(0);
+    }
+
+    /**
+     * Core mapping method using pre-loaded asset and user data
+     */
+    private AssetLoanResponse mapToAssetLoanResponse(AssetLoan loan, Map<Long, Asset> assetMap, Map<Long, User> userMap) {
+        Asset asset = assetMap.get(loan.getAssetId());
+        User user = userMap.get(loan.getUserId());
+        User assignedBy = userMap.get(loan.getAssignedById());
 
         AssetLoanResponse response = new AssetLoanResponse();
         response.setId(loan.getId());
@@ -1,13 +1,14 @@
 package com.example.asset_management.service;
 
+import com.example.asset_management.config.AppProperties;
 import com.example.asset_management.dto.AssetResponse;
 import com.example.asset_management.dto.CreateAssetRequest;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.model.Asset;
 import com.example.asset_management.model.Asset.AssetStatus;
-import com.example.asset_management.model.AssetCategory;
-import com.example.asset_management.repository.AssetCategoryRepository;
 import com.example.asset_management.repository.AssetRepository;
 import com.example.asset_management.exception.AssetNotFoundException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,8 +18,9 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,16 +28,47 @@ import java.util.stream.Collectors;
 public class AssetService {
 
     private final AssetRepository assetRepository;
-    private final AssetCategoryRepository assetCategoryRepository;
+    private final AssetCategoryCacheService assetCategoryCacheService;
+    private final AssetStatisticsService assetStatisticsService;
+    private final EntityManager entityManager;
+    private final AppProperties appProperties;
 
     public List<AssetResponse> getAvailableAssets() {
         List<Asset> assets = assetRepository.findAvailableAssets();
         return mapToAssetResponses(assets);
     }
 
-    public List<AssetResponse> getAllAssets() {
-        List<Asset> assets = assetRepository.findAllOrderedByAssetTag();
-        return mapToAssetResponses(assets);
+    /**
+     * Keyset-paginated asset listing ordered by asset tag. The cursor is the last asset tag
+     * of the previous page, so each page is an index range scan regardless of depth.
+     */
+    public CursorPageResponse<AssetResponse> getAssetsPage(String cursor, AssetStatus status, Long categoryId, Integer limit) {
+        int pageSize = appProperties.getPagination().resolvePageSize(limit);
+        List<Asset> assets = assetRepository.findPageAfterAssetTag(
+                cursor, status, categoryId, CursorPageResponse.fetchRequest(pageSize));
+
+        return CursorPageResponse.fromRows(assets, pageSize, Asset::getAssetTag).map(this::mapToAssetResponses);
+    }
+
+    /**
+     * Streams every matching asset to the consumer without materializing the result list.
+     * Entities are detached as they are mapped so the persistence context stays empty.
+     * Category names are resolved before the cursor opens: MySQL rejects any other query on the
+     * connection while a streaming result set is active.
+     */
+    @Transactional(readOnly = true)
+    public void streamAssets(AssetStatus status, Long categoryId, Consumer<AssetResponse> consumer) {
+        Map<Long, String> categoryMap = new HashMap<>(assetCategoryCacheService.getAllCategoryNames());
+        if (categoryId != null && !categoryMap.containsKey(categoryId)) {
+            categoryMap.putAll(assetCategoryCacheService.getCategoryNames(List.of(categoryId)));
+        }
+
+        try (Stream<Asset> assets = assetRepository.streamAllOrderedByAssetTag(status, categoryId)) {
+            assets.forEach(asset -> {
+                consumer.accept(mapToAssetResponse(asset, categoryMap));
+                entityManager.detach(asset);
+            });
+        }
     }
 
     public AssetResponse getAssetById(Long id) {
@@ -68,7 +101,7 @@ public class AssetService {
         }
 
         // Validate category exists
-        if (!assetCategoryRepository.findById(asset.getCategoryId()).isPresent()) {
+        if (!assetCategoryCacheService.exists(asset.getCategoryId())) {
             throw new RuntimeException("Asset category not found: " + asset.getCategoryId());
         }
 
@@ -86,7 +119,7 @@ public class AssetService {
         }
 
         // Validate category exists
-        if (!assetCategoryRepository.findById(request.getCategoryId()).isPresent()) {
+        if (!assetCategoryCacheService.exists(request.getCategoryId())) {
             throw new RuntimeException("Asset category not found: " + request.getCategoryId());
         }
 
@@ -148,7 +181,7 @@ public class AssetService {
         }
 
         // Validate category exists
-        if (!assetCategoryRepository.findById(request.getCategoryId()).isPresent()) {
+        if (!assetCategoryCacheService.exists(request.getCategoryId())) {
             throw new RuntimeException("Asset category not found: " + request.getCategoryId());
         }
 
@@ -196,9 +229,10 @@ public class AssetService {
     }
 
     /**
-     * Optimized method to map multiple assets to responses, avoiding N+1 queries
+     * Optimized method to map multiple assets to responses, avoiding N+1 queries.
+     * Package-private so the JMH benchmarks can measure it directly.
      */
-    private List<AssetResponse> mapToAssetResponses(List<Asset> assets) {
+    List<AssetResponse> mapToAssetResponses(List<Asset> assets) {
         if (assets.isEmpty()) {
             return List.of();
         }
@@ -209,13 +243,8 @@ public class AssetService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        // Load all categories in one query
-        Map<Long, String> categoryMap = assetCategoryRepository.findAllById(categoryIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        AssetCategory::getId,
-                        AssetCategory::getName
-                ));
+        // Resolve all category names from the in-process cache
+        Map<Long, String> categoryMap = assetCategoryCacheService.getCategoryNames(categoryIds);
 
         return assets.stream()
                 .map(asset -> mapToAssetResponse(asset, categoryMap))
@@ -223,14 +252,14 @@ public class AssetService {
     }
 
     /**
-     * Optimized single asset mapping with pre-loaded categories
+     * Optimized single asset mapping with cached category names
      */
     private AssetResponse mapToAssetResponse(Asset asset) {
-        String categoryName = assetCategoryRepository.findById(asset.getCategoryId())
-                .map(AssetCategory::getName)
-                .orElse("Unknown");
+        String categoryName = assetCategoryCacheService.getCategoryName(asset.getCategoryId());
 
-        return mapToAssetResponse(asset, Map.of(asset.getCategoryId(), categoryName));
+        return mapToAssetResponse(asset, categoryName != null
+                ? Map.of(asset.getCategoryId(), categoryName)
+                : Map.of());
     }
 
     /**
@@ -257,13 +286,14 @@ public class AssetService {
     }
 
     public Map<String, Object> getAssetStatistics() {
+        AssetStatisticsService.Snapshot snapshot = assetStatisticsService.getSnapshot();
         Map<String, Object> statistics = new HashMap<>();
         
         // Count assets by status
-        long availableAssets = assetRepository.countByStatus(AssetStatus.available);
-        long loanedAssets = assetRepository.countByStatus(AssetStatus.loaned);
-        long maintenanceAssets = assetRepository.countByStatus(AssetStatus.maintenance);
-        long retiredAssets = assetRepository.countByStatus(AssetStatus.retired);
+        long availableAssets = snapshot.countByStatus(AssetStatus.available);
+        long loanedAssets = snapshot.countByStatus(AssetStatus.loaned);
+        long maintenanceAssets = snapshot.countByStatus(AssetStatus.maintenance);
+        long retiredAssets = snapshot.countByStatus(AssetStatus.retired);
         
         statistics.put("totalAssets", availableAssets + loanedAssets + maintenanceAssets + retiredAssets);
         statistics.put("availableAssets", availableAssets);
@@ -271,14 +301,11 @@ public class AssetService {
         statistics.put("maintenanceAssets", maintenanceAssets);
         statistics.put("retiredAssets", retiredAssets);
         
-        // Get assets by category
-        List<AssetCategory> categories = assetCategoryRepository.findAll();
+        // Get assets by category, including categories without any assets
         Map<String, Long> assetsByCategory = new HashMap<>();
         
-        for (AssetCategory category : categories) {
-            long count = assetRepository.countByCategoryId(category.getId());
-            assetsByCategory.put(category.getName(), count);
-        }
+        snapshot.categoryNames().forEach((categoryId, categoryName) ->
+                assetsByCategory.put(categoryName, snapshot.countsByCategoryId().getOrDefault(categoryId, 0L)));
         
         statistics.put("assetsByCategory", assetsByCategory);
         
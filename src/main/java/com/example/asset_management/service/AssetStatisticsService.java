@@ -0,0 +1,89 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.model.Asset.AssetStatus;
+import com.example.asset_management.model.AssetCategory;
+import com.example.asset_management.repository.AssetCategoryRepository;
+import com.example.asset_management.repository.AssetRepository;
+import com.example.asset_management.repository.AssetRepository.StatusCategoryCount;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Asset counts by status and category, computed with one GROUP BY query and memoized for a
+ * short TTL together with the full category list, so categories without assets are reported
+ * too. Concurrent dashboard polls that arrive while the snapshot is being rebuilt wait for that
+ * single computation instead of issuing their own queries.
+ */
+@Slf4j
+@Service
+public class AssetStatisticsService {
+
+    private static final String SNAPSHOT_KEY = "asset-statistics";
+
+    private final AssetRepository assetRepository;
+    private final AssetCategoryRepository assetCategoryRepository;
+    private final LoadingCache<String, Snapshot> snapshots;
+
+    public AssetStatisticsService(AssetRepository assetRepository,
+                                  AssetCategoryRepository assetCategoryRepository,
+                                  @Value("${app.statistics.snapshot-ttl-seconds:5}") long snapshotTtlSeconds) {
+        this.assetRepository = assetRepository;
+        this.assetCategoryRepository = assetCategoryRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(snapshotTtlSeconds))
+                .maximumSize(1)
+                .build(key -> computeSnapshot());
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshots.get(SNAPSHOT_KEY);
+    }
+
+    private Snapshot computeSnapshot() {
+        Map<AssetStatus, Long> byStatus = new EnumMap<>(AssetStatus.class);
+        for (AssetStatus status : AssetStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<Long, Long> byCategory = new HashMap<>();
+        long total = 0;
+
+        for (StatusCategoryCount row : assetRepository.countGroupedByStatusAndCategory()) {
+            if (row.getStatus() != null) {
+                byStatus.merge(row.getStatus(), row.getCount(), Long::sum);
+            }
+            byCategory.merge(row.getCategoryId(), row.getCount(), Long::sum);
+            total += row.getCount();
+        }
+
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (AssetCategory category : assetCategoryRepository.findAll()) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+
+        log.debug("Computed asset statistics snapshot: {} assets", total);
+        return new Snapshot(total, Collections.unmodifiableMap(byStatus),
+                Collections.unmodifiableMap(byCategory), Collections.unmodifiableMap(categoryNames),
+                LocalDateTime.now());
+    }
+
+    public record Snapshot(long totalAssets,
+                           Map<AssetStatus, Long> countsByStatus,
+                           Map<Long, Long> countsByCategoryId,
+                           Map<Long, String> categoryNames,
+                           LocalDateTime computedAt) {
+
+        public long countByStatus(AssetStatus status) {
+            return countsByStatus.getOrDefault(status, 0L);
+        }
+    }
+}
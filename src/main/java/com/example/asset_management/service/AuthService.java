@@ -8,6 +8,7 @@ import com.example.asset_management.model.Role;
 import com.example.asset_management.model.User;
 import com.example.asset_management.repository.RoleRepository;
 import com.example.asset_management.repository.UserRepository;
+import com.example.asset_management.security.CustomUserDetailsService;
 import com.example.asset_management.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,7 @@ public class AuthService {
     private final RoleRepository roleRepository;
     private final KafkaEventService kafkaEventService;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     public LoginResponse login(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -99,6 +101,7 @@ public class AuthService {
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsService.invalidate(user.getId());
 
         log.info("Password changed successfully for user: {}", username);
     }
@@ -0,0 +1,273 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.AppProperties;
+import com.example.asset_management.repository.AssetLoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Daily due date sweep. Loans are split into id-hash partitions that nodes claim through
+ * {@link JobLeaseService}, so a large sweep is shared across the cluster and each partition runs
+ * once per day. A partition left unfinished when its lease expires is picked up again the same
+ * day by {@link #resumeSweep()}. Within a partition loans are walked in (due_at, id) keyset chunks reading only
+ * the columns the events need; each chunk runs in its own transaction, flips overdue rows with
+ * one UPDATE and queues its outbox events with one JDBC batch.
+ */
+@Slf4j
+@Service
+public class DueDateSweepService {
+
+    private static final String OVERDUE_CHUNK_SQL =
+        "SELECT id, asset_id, user_id, due_at FROM asset_loans " +
+        "WHERE status = 'loaned' AND due_at < ? AND (due_at > ? OR (due_at = ? AND id > ?)) " +
+        "AND MOD(id, ?) = ? ORDER BY due_at, id LIMIT ?";
+
+    private static final String DUE_SOON_CHUNK_SQL =
+        "SELECT id, asset_id, user_id, due_at FROM asset_loans " +
+        "WHERE status = 'loaned' AND due_at <= ? AND (due_at > ? OR (due_at = ? AND id > ?)) " +
+        "AND MOD(id, ?) = ? ORDER BY due_at, id LIMIT ?";
+
+    private static final RowMapper<DueLoan> DUE_LOAN_MAPPER = (rs, rowNum) -> new DueLoan(
+            rs.getLong("id"),
+            rs.getLong("asset_id"),
+            rs.getLong("user_id"),
+            rs.getTimestamp("due_at").toLocalDateTime());
+
+    public static final String JOB_NAME = "due-date-sweep";
+
+    // Keyset start for the overdue pass, which has no lower due_at bound
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AssetLoanRepository assetLoanRepository;
+    private final EventService eventService;
+    private final DueDateTimerService dueDateTimerService;
+    private final JobLeaseService jobLeaseService;
+    private final AppProperties appProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int partitions;
+
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalOverdueMarked = new AtomicLong();
+    private final AtomicLong totalDueSoonQueued = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile SweepResult lastRun;
+
+    public DueDateSweepService(AssetLoanRepository assetLoanRepository,
+                               EventService eventService,
+                               DueDateTimerService dueDateTimerService,
+                               JobLeaseService jobLeaseService,
+                               AppProperties appProperties,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.sweep.chunk-size:500}") int chunkSize,
+                               @Value("${app.sweep.partitions:8}") int partitions) {
+        this.assetLoanRepository = assetLoanRepository;
+        this.eventService = eventService;
+        this.dueDateTimerService = dueDateTimerService;
+        this.jobLeaseService = jobLeaseService;
+        this.appProperties = appProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.partitions = partitions;
+    }
+
+    public SweepResult sweep() {
+        return runExclusively(false);
+    }
+
+    /**
+     * Sweeps any partition of today's run that is still unfinished, typically one whose node
+     * died mid-walk and let its lease expire. Completed partitions and partitions leased by live
+     * nodes are skipped by the claim, so when nothing is pending this costs one UPDATE per
+     * partition. Returns null when there was nothing to resume.
+     */
+    public SweepResult resumeSweep() {
+        return runExclusively(true);
+    }
+
+    // The daily run and the resume pass share partitions through this node's id, so never overlap them
+    private SweepResult runExclusively(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Due date sweep already running on this node");
+            return null;
+        }
+        try {
+            return runSweep(resume);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SweepResult runSweep(boolean resume) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reminderHorizon = now.plusDays(appProperties.getLoan().getDueReminderDays());
+
+        String runKey = now.toLocalDate().toString();
+
+        ChunkCounter overdue = new ChunkCounter();
+        ChunkCounter dueSoon = new ChunkCounter();
+        int partitionsSwept = 0;
+        Integer partition;
+        while ((partition = jobLeaseService.claimPartition(JOB_NAME, partitions, runKey)) != null) {
+            int claimed = partition;
+            walk(OVERDUE_CHUNK_SQL, claimed, now, BEGINNING, overdue, chunk -> markOverdueChunk(chunk, now));
+
+            // Due-soon reminders come from the timing wheel when it is on; only sweep them without it
+            if (!dueDateTimerService.isEnabled()) {
+                walk(DUE_SOON_CHUNK_SQL, claimed, reminderHorizon, now, dueSoon, chunk -> queueDueSoonChunk(chunk, now));
+            }
+
+            jobLeaseService.completePartition(JOB_NAME, claimed, runKey);
+            partitionsSwept++;
+        }
+
+        if (resume && partitionsSwept == 0) {
+            return null;
+        }
+
+        SweepResult result = new SweepResult(now, System.currentTimeMillis() - start,
+                overdue.rows, dueSoon.rows, overdue.chunks + dueSoon.chunks, partitionsSwept);
+        lastRun = result;
+        totalRuns.incrementAndGet();
+        totalOverdueMarked.addAndGet(result.overdueMarked());
+        totalDueSoonQueued.addAndGet(result.dueSoonQueued());
+
+        log.info("Due date sweep{} finished in {} ms: {} loans marked overdue, {} due soon reminders queued, " +
+                "{} chunks across {} of {} partitions", resume ? " (resumed)" : "", result.durationMs(),
+                result.overdueMarked(), result.dueSoonQueued(), result.chunks(), result.partitions(), partitions);
+        return result;
+    }
+
+    /**
+     * Reads one partition's loaned rows between {@code startAfter} and {@code upperBound} chunk by
+     * chunk, resuming after the last (due_at, id) seen, and hands each chunk to the handler inside
+     * its own transaction. The handler returns how many rows it acted on.
+     */
+    private void walk(String sql, int partition, LocalDateTime upperBound, LocalDateTime startAfter,
+                      ChunkCounter counter, ChunkHandler handler) {
+        Timestamp afterDueAt = Timestamp.valueOf(startAfter);
+        long afterId = 0L;
+        Timestamp bound = Timestamp.valueOf(upperBound);
+
+        while (true) {
+            Timestamp cursorDueAt = afterDueAt;
+            long cursorId = afterId;
+            List<DueLoan> chunk = transactionTemplate.execute(status -> {
+                List<DueLoan> rows = jdbcTemplate.query(sql, DUE_LOAN_MAPPER,
+                        bound, cursorDueAt, cursorDueAt, cursorId, partitions, partition, chunkSize);
+                if (!rows.isEmpty()) {
+                    counter.rows += handler.handle(rows);
+                }
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                return;
+            }
+
+            counter.chunks++;
+            DueLoan last = chunk.get(chunk.size() - 1);
+            afterDueAt = Timestamp.valueOf(last.dueAt());
+            afterId = last.id();
+
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The chunk is read without locks: a locking read would hold every index record it scans,
+     * including loans of other partitions, until the chunk commits. The UPDATE's status guard
+     * decides instead, and events are queued only for the rows it flipped, so a loan returned
+     * or approved in the meantime is left alone.
+     */
+    private int markOverdueChunk(List<DueLoan> chunk, LocalDateTime now) {
+        // updated_at has second precision; truncate so the re-select matches what was stored
+        LocalDateTime markedAt = now.truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = chunk.stream().map(DueLoan::id).toList();
+        if (assetLoanRepository.markOverdue(ids, markedAt) == 0) {
+            return 0;
+        }
+        Set<Long> marked = new HashSet<>(assetLoanRepository.findIdsMarkedOverdue(ids, markedAt));
+        eventService.queueLoanEvents("AssetOverdue", chunk.stream()
+                .filter(loan -> marked.contains(loan.id()))
+                .map(loan -> EventService.createOverduePayload(loan.id(), loan.assetId(), loan.userId(), loan.dueAt(), now))
+                .toList());
+        return marked.size();
+    }
+
+    private int queueDueSoonChunk(List<DueLoan> chunk, LocalDateTime now) {
+        eventService.queueLoanEvents("AssetDueSoon", chunk.stream()
+                .map(loan -> EventService.createDueSoonPayload(loan.id(), loan.assetId(), loan.userId(), loan.dueAt(), now))
+                .toList());
+        return chunk.size();
+    }
+
+    public long getTotalOverdueMarked() {
+        return totalOverdueMarked.get();
+    }
+
+    public long getTotalDueSoonQueued() {
+        return totalDueSoonQueued.get();
+    }
+
+    public long getLastRunDurationMs() {
+        SweepResult last = lastRun;
+        return last != null ? last.durationMs() : 0L;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        SweepResult last = lastRun;
+
+        statistics.put("chunkSize", chunkSize);
+        statistics.put("partitions", partitions);
+        statistics.put("totalRuns", totalRuns.get());
+        statistics.put("totalOverdueMarked", totalOverdueMarked.get());
+        statistics.put("totalDueSoonQueued", totalDueSoonQueued.get());
+        statistics.put("lastRunAt", last != null ? last.startedAt() : null);
+        statistics.put("lastRunDurationMs", last != null ? last.durationMs() : 0L);
+        statistics.put("lastRunOverdueMarked", last != null ? last.overdueMarked() : 0L);
+        statistics.put("lastRunDueSoonQueued", last != null ? last.dueSoonQueued() : 0L);
+        statistics.put("lastRunChunks", last != null ? last.chunks() : 0L);
+        statistics.put("lastRunPartitions", last != null ? last.partitions() : 0);
+
+        return statistics;
+    }
+
+    public record SweepResult(LocalDateTime startedAt, long durationMs, long overdueMarked,
+                              long dueSoonQueued, long chunks, int partitions) {
+    }
+
+    private record DueLoan(Long id, Long assetId, Long userId, LocalDateTime dueAt) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler {
+        int handle(List<DueLoan> chunk);
+    }
+
+    private static final class ChunkCounter {
+        private long rows;
+        private long chunks;
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.AppProperties;
+import com.example.asset_management.model.AssetLoan;
+import com.example.asset_management.model.AssetLoan.LoanStatus;
+import com.example.asset_management.repository.AssetLoanRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires AssetDueSoon and AssetOverdue within a minute of the moment they apply, instead of
+ * waiting for the daily sweep. Loaned loans are held in a {@link TimingWheel}, seeded at startup
+ * and kept current by AssetLoanService after each commit; the daily sweep reconciles and reseeds.
+ * Every node keeps its wheel current, but only the holder of the job lease fires timers; it also
+ * picks up loans approved on other nodes by polling approved_at. A loan already inside its
+ * reminder window when it is scheduled (approved late, seeded after its reminder time, or missed
+ * during downtime) gets its reminder on the next tick; due_soon_sent_at keeps reseeds and
+ * failovers from announcing it twice.
+ */
+@Slf4j
+@Service
+public class DueDateTimerService {
+
+    public static final String JOB_NAME = "due-date-timers";
+
+    private final AssetLoanRepository assetLoanRepository;
+    private final EventService eventService;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final TimingWheel<TimerKey, DueTimer> wheel;
+    // A lock rather than a monitor: request threads contend for it after commit, and a virtual
+    // thread blocked on monitor entry stays pinned to its carrier
+    private final ReentrantLock wheelLock = new ReentrantLock();
+
+    @Getter
+    private final boolean enabled;
+    private final int seedHorizonDays;
+
+    private volatile boolean leader;
+    private volatile LocalDateTime seededAt;
+
+    private final AtomicLong dueSoonFired = new AtomicLong();
+    private final AtomicLong overdueFired = new AtomicLong();
+
+    public DueDateTimerService(AssetLoanRepository assetLoanRepository,
+                               EventService eventService,
+                               AppProperties appProperties,
+                               TransactionTemplate transactionTemplate,
+                               JobLeaseService jobLeaseService,
+                               @Value("${app.due-dates.timing-wheel.enabled:true}") boolean enabled,
+                               @Value("${app.due-dates.timing-wheel.seed-horizon-days:60}") int seedHorizonDays) {
+        this.assetLoanRepository = assetLoanRepository;
+        this.eventService = eventService;
+        this.appProperties = appProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.enabled = enabled;
+        this.seedHorizonDays = seedHorizonDays;
+        this.wheel = new TimingWheel<>(toTick(LocalDateTime.now()));
+    }
+
+    /**
+     * Schedules every loaned loan due within the seed horizon. Scheduling is keyed by loan, so
+     * the daily reconciliation can call this again without creating duplicates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AssetLoan> loans = assetLoanRepository.findLoansDueBetween(now, now.plusDays(seedHorizonDays));
+        int scheduled = scheduleLoaned(loans);
+        seededAt = now;
+        log.info("Seeded due date timers for {} loans due within {} days", scheduled, seedHorizonDays);
+    }
+
+    /**
+     * Starts (or moves) the timers for a loan once the surrounding transaction commits.
+     */
+    public void track(AssetLoan loan) {
+        if (!enabled || loan.getDueAt() == null) {
+            return;
+        }
+        afterCommit(() -> {
+            wheelLock.lock();
+            try {
+                scheduleTimers(loan.getId(), loan.getAssetId(), loan.getUserId(), loan.getDueAt(),
+                        loan.getDueSoonSentAt() != null);
+            } finally {
+                wheelLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Drops a loan's timers once the surrounding transaction commits.
+     */
+    public void untrack(Long loanId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            wheelLock.lock();
+            try {
+                wheel.cancel(new TimerKey(loanId, TimerKind.DUE_SOON));
+                wheel.cancel(new TimerKey(loanId, TimerKind.OVERDUE));
+            } finally {
+                wheelLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Advances the wheel to the current minute and, on the lease holder, queues events for every
+     * timer that came due. The loans are locked and re-checked first, so a loan returned in the
+     * meantime, or already flipped by the daily sweep, is never announced. A node that has just
+     * taken the lease reseeds first; after that it polls for loans approved elsewhere.
+     */
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean acquired = jobLeaseService.tryAcquire(JOB_NAME);
+        if (acquired && !leader) {
+            log.info("Node {} took over due date timers", jobLeaseService.getNodeId());
+            seed();
+        } else if (acquired && seededAt != null) {
+            // Overlap the window a little so a commit racing the previous poll is not missed
+            scheduleLoaned(assetLoanRepository.findLoanedApprovedSince(seededAt.minusMinutes(1)));
+            seededAt = now;
+        }
+        leader = acquired;
+
+        List<DueTimer> expired;
+        wheelLock.lock();
+        try {
+            expired = wheel.advanceTo(toTick(now));
+        } finally {
+            wheelLock.unlock();
+        }
+        if (!acquired || expired.isEmpty()) {
+            return;
+        }
+
+        List<DueTimer> dueSoon = new ArrayList<>();
+        List<DueTimer> overdue = new ArrayList<>();
+        for (DueTimer timer : expired) {
+            (timer.kind() == TimerKind.DUE_SOON ? dueSoon : overdue).add(timer);
+        }
+
+        AtomicLong queuedDueSoon = new AtomicLong();
+        AtomicLong queuedOverdue = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, AssetLoan> current = assetLoanRepository.findAllByIdForUpdate(
+                            expired.stream().map(DueTimer::loanId).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(AssetLoan::getId, Function.identity()));
+
+            List<DueTimer> toRemind = dueSoon.stream()
+                    .filter(timer -> isStillLoaned(current.get(timer.loanId()))
+                            && current.get(timer.loanId()).getDueSoonSentAt() == null)
+                    .toList();
+            if (!toRemind.isEmpty()) {
+                assetLoanRepository.markDueSoonSent(toRemind.stream().map(DueTimer::loanId).toList(), now);
+                List<Map<String, Object>> dueSoonPayloads = toRemind.stream()
+                        .map(timer -> EventService.createDueSoonPayload(
+                                timer.loanId(), timer.assetId(), timer.userId(), timer.dueAt(), now))
+                        .toList();
+                eventService.queueLoanEvents("AssetDueSoon", dueSoonPayloads);
+                queuedDueSoon.set(dueSoonPayloads.size());
+            }
+
+            List<DueTimer> toFlip = overdue.stream()
+                    .filter(timer -> isStillLoaned(current.get(timer.loanId()))
+                            && current.get(timer.loanId()).getDueAt().isBefore(now))
+                    .toList();
+            if (!toFlip.isEmpty()) {
+                assetLoanRepository.markOverdue(toFlip.stream().map(DueTimer::loanId).toList(), now);
+                List<Map<String, Object>> overduePayloads = toFlip.stream()
+                        .map(timer -> EventService.createOverduePayload(
+                                timer.loanId(), timer.assetId(), timer.userId(), timer.dueAt(), now))
+                        .toList();
+                eventService.queueLoanEvents("AssetOverdue", overduePayloads);
+                queuedOverdue.set(overduePayloads.size());
+            }
+        });
+
+        dueSoonFired.addAndGet(queuedDueSoon.get());
+        overdueFired.addAndGet(queuedOverdue.get());
+        log.info("Due date timers fired: {} due soon and {} overdue events queued, {} stale timers skipped",
+                queuedDueSoon.get(), queuedOverdue.get(), expired.size() - queuedDueSoon.get() - queuedOverdue.get());
+    }
+
+    public int getPendingTimers() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    public long getDueSoonFired() {
+        return dueSoonFired.get();
+    }
+
+    public long getOverdueFired() {
+        return overdueFired.get();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("pendingTimers", getPendingTimers());
+        statistics.put("enabled", enabled);
+        statistics.put("leader", leader);
+        statistics.put("dueSoonFired", dueSoonFired.get());
+        statistics.put("overdueFired", overdueFired.get());
+        return statistics;
+    }
+
+    private int scheduleLoaned(List<AssetLoan> loans) {
+        int scheduled = 0;
+        wheelLock.lock();
+        try {
+            for (AssetLoan loan : loans) {
+                if (loan.getStatus() == LoanStatus.loaned) {
+                    scheduleTimers(loan.getId(), loan.getAssetId(), loan.getUserId(), loan.getDueAt(),
+                            loan.getDueSoonSentAt() != null);
+                    scheduled++;
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+        return scheduled;
+    }
+
+    private void scheduleTimers(Long loanId, Long assetId, Long userId, LocalDateTime dueAt,
+                                boolean reminderSent) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime remindAt = dueAt.minusDays(appProperties.getLoan().getDueReminderDays());
+        TimerKey dueSoonKey = new TimerKey(loanId, TimerKind.DUE_SOON);
+        if (!reminderSent && dueAt.isAfter(now)) {
+            // A reminder time already passed fires on the next tick
+            LocalDateTime fireAt = remindAt.isAfter(now) ? remindAt : now;
+            wheel.schedule(dueSoonKey, toTick(fireAt),
+                    new DueTimer(TimerKind.DUE_SOON, loanId, assetId, userId, dueAt));
+        } else {
+            wheel.cancel(dueSoonKey);
+        }
+        // Fire in the minute after due_at so the loan is strictly past due
+        wheel.schedule(new TimerKey(loanId, TimerKind.OVERDUE), toTick(dueAt) + 1,
+                new DueTimer(TimerKind.OVERDUE, loanId, assetId, userId, dueAt));
+    }
+
+    // A timer is stale if the loan was returned, or already flipped by the sweep, after it was scheduled
+    private boolean isStillLoaned(AssetLoan loan) {
+        return loan != null && loan.getStatus() == LoanStatus.loaned;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toTick(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    private enum TimerKind {
+        DUE_SOON,
+        OVERDUE
+    }
+
+    private record TimerKey(Long loanId, TimerKind kind) {
+    }
+
+    private record DueTimer(TimerKind kind, Long loanId, Long assetId, Long userId, LocalDateTime dueAt) {
+    }
+}
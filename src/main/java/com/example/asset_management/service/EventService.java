@@ -3,14 +3,19 @@ package com.example.asset_management.service;
 import com.example.asset_management.model.AssetLoan;
 import com.example.asset_management.model.OutboxEvent;
 import com.example.asset_management.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -18,8 +23,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final String INSERT_OUTBOX_SQL =
+        "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload_json, created_at, retry_count) " +
+        "VALUES ('ASSET_LOAN', ?, ?, ?, ?, 0)";
+
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public void publishAssetAssignedEvent(AssetLoan loan) {
@@ -31,6 +41,7 @@ public class EventService {
             payload.put("assignedById", loan.getAssignedById());
             payload.put("dueAt", loan.getDueAt());
             payload.put("assignedAt", loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getRequestedAt());
+            payload.put("status", loan.getStatus().toString());
 
             String payloadJson = objectMapper.writeValueAsString(payload);
 
@@ -58,6 +69,7 @@ public class EventService {
             payload.put("userId", loan.getUserId());
             payload.put("returnedAt", loan.getReturnedAt());
             payload.put("damageNote", loan.getDamageNote());
+            payload.put("status", loan.getStatus().toString());
 
             String payloadJson = objectMapper.writeValueAsString(payload);
 
@@ -79,11 +91,8 @@ public class EventService {
     @Transactional
     public void publishAssetDueSoonEvent(AssetLoan loan) {
         try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("loanId", loan.getId());
-            payload.put("assetId", loan.getAssetId());
-            payload.put("userId", loan.getUserId());
-            payload.put("dueAt", loan.getDueAt());
+            Map<String, Object> payload = createDueSoonPayload(
+                    loan.getId(), loan.getAssetId(), loan.getUserId(), loan.getDueAt(), LocalDateTime.now());
 
             String payloadJson = objectMapper.writeValueAsString(payload);
 
@@ -105,11 +114,8 @@ public class EventService {
     @Transactional
     public void publishAssetOverdueEvent(AssetLoan loan) {
         try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("loanId", loan.getId());
-            payload.put("assetId", loan.getAssetId());
-            payload.put("userId", loan.getUserId());
-            payload.put("dueAt", loan.getDueAt());
+            Map<String, Object> payload = createOverduePayload(
+                    loan.getId(), loan.getAssetId(), loan.getUserId(), loan.getDueAt(), LocalDateTime.now());
 
             String payloadJson = objectMapper.writeValueAsString(payload);
 
@@ -136,6 +142,7 @@ public class EventService {
             payload.put("assetId", loan.getAssetId());
             payload.put("userId", loan.getUserId());
             payload.put("rejectedAt", LocalDateTime.now());
+            payload.put("status", loan.getStatus().toString());
 
             String payloadJson = objectMapper.writeValueAsString(payload);
 
@@ -153,4 +160,49 @@ public class EventService {
             log.error("Failed to publish AssetRejected event for loan ID: {}", loan.getId(), e);
         }
     }
+
+    /**
+     * Queues one ASSET_LOAN outbox row per payload with a single JDBC batch. Each payload must
+     * carry its loanId; the caller owns the transaction.
+     */
+    public void queueLoanEvents(String eventType, List<Map<String, Object>> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, payloads, payloads.size(), (ps, payload) -> {
+            ps.setLong(1, (Long) payload.get("loanId"));
+            ps.setString(2, eventType);
+            try {
+                ps.setString(3, objectMapper.writeValueAsString(payload));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to serialize " + eventType + " payload for loan ID: " + payload.get("loanId"), e);
+            }
+            ps.setTimestamp(4, now);
+        });
+        log.debug("Queued {} {} events", payloads.size(), eventType);
+    }
+
+    public static Map<String, Object> createDueSoonPayload(Long loanId, Long assetId, Long userId,
+                                                           LocalDateTime dueAt, LocalDateTime now) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("loanId", loanId);
+        payload.put("assetId", assetId);
+        payload.put("userId", userId);
+        payload.put("dueAt", dueAt);
+        payload.put("daysUntilDue", ChronoUnit.DAYS.between(now, dueAt));
+        return payload;
+    }
+
+    public static Map<String, Object> createOverduePayload(Long loanId, Long assetId, Long userId,
+                                                           LocalDateTime dueAt, LocalDateTime now) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("loanId", loanId);
+        payload.put("assetId", assetId);
+        payload.put("userId", userId);
+        payload.put("dueAt", dueAt);
+        payload.put("daysPastDue", ChronoUnit.DAYS.between(dueAt, now));
+        return payload;
+    }
 }
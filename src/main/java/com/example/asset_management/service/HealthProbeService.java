@@ -0,0 +1,151 @@
+package com.example.asset_management.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Readiness checks run in the background so probes never touch the database or Kafka. Each
+ * refresh runs a SELECT 1 with a query timeout, asks the Kafka cluster for its nodes and checks
+ * the outbox backlog against a threshold, then swaps in an immutable snapshot that probe calls
+ * read in O(1). A snapshot older than a few refresh intervals counts as not ready, so a hung
+ * check takes the node out of rotation rather than leaving a stale "ready" behind.
+ */
+@Slf4j
+@Service
+public class HealthProbeService {
+
+    private final OutboxRelayService outboxRelayService;
+    private final JdbcTemplate probeJdbcTemplate;
+    private final boolean kafkaCheckEnabled;
+    private final String bootstrapServers;
+    private final int timeoutMs;
+    private final long maxOutboxBacklog;
+    private final long maxSnapshotAgeMs;
+
+    private AdminClient adminClient;
+    private volatile HealthSnapshot snapshot = new HealthSnapshot(false, Map.of(), null, 0L);
+
+    public HealthProbeService(OutboxRelayService outboxRelayService,
+                              DataSource dataSource,
+                              @Value("${app.health.kafka.enabled:true}") boolean kafkaCheckEnabled,
+                              @Value("${spring.kafka.bootstrap-servers:}") String bootstrapServers,
+                              @Value("${app.health.timeout-ms:2000}") int timeoutMs,
+                              @Value("${app.health.outbox.max-backlog:10000}") long maxOutboxBacklog,
+                              @Value("${app.health.refresh-interval-ms:5000}") long refreshIntervalMs) {
+        this.outboxRelayService = outboxRelayService;
+        this.kafkaCheckEnabled = kafkaCheckEnabled && !bootstrapServers.isBlank();
+        this.bootstrapServers = bootstrapServers;
+        this.timeoutMs = timeoutMs;
+        this.maxOutboxBacklog = maxOutboxBacklog;
+        this.maxSnapshotAgeMs = refreshIntervalMs * 3;
+
+        // Separate template so the timeout applies to probe queries only
+        this.probeJdbcTemplate = new JdbcTemplate(dataSource);
+        this.probeJdbcTemplate.setQueryTimeout(Math.max(1, timeoutMs / 1000));
+    }
+
+    public void refresh() {
+        Map<String, CheckResult> checks = new LinkedHashMap<>();
+        checks.put("database", check(() -> {
+            probeJdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return "connected";
+        }));
+        if (kafkaCheckEnabled) {
+            checks.put("kafka", check(() -> "nodes: " + describeKafkaCluster()));
+        }
+        checks.put("outbox", check(() -> {
+            long backlog = outboxRelayService.getBacklog();
+            if (backlog > maxOutboxBacklog) {
+                throw new RuntimeException("backlog " + backlog + " exceeds " + maxOutboxBacklog);
+            }
+            // Dead rows are reported but do not affect readiness; no node can relay them
+            return "backlog: " + backlog + ", dead: " + outboxRelayService.getDeadCount();
+        }));
+
+        boolean ready = checks.values().stream().allMatch(CheckResult::up);
+        if (ready != snapshot.ready()) {
+            log.info("Readiness changed to {}: {}", ready ? "READY" : "NOT READY", checks);
+        }
+        snapshot = new HealthSnapshot(ready, Collections.unmodifiableMap(checks), LocalDateTime.now(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * The last computed readiness, downgraded to not ready if the background checks have stalled.
+     */
+    public boolean isReady() {
+        HealthSnapshot current = snapshot;
+        return current.ready() && System.currentTimeMillis() - current.checkedAtMillis() <= maxSnapshotAgeMs;
+    }
+
+    public Map<String, Object> getSnapshot() {
+        HealthSnapshot current = snapshot;
+        Map<String, Object> health = new LinkedHashMap<>();
+        health.put("status", isReady() ? "ready" : "not_ready");
+        health.put("checks", current.checks());
+        health.put("checkedAt", current.checkedAt());
+        return health;
+    }
+
+    /**
+     * The last result of one named check, or null if it has not run yet.
+     */
+    public CheckResult getCheck(String name) {
+        return snapshot.checks().get(name);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+
+    private int describeKafkaCluster() throws Exception {
+        if (adminClient == null) {
+            Properties props = new Properties();
+            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, timeoutMs);
+            props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, timeoutMs);
+            adminClient = AdminClient.create(props);
+        }
+        return adminClient.describeCluster(new DescribeClusterOptions().timeoutMs(timeoutMs))
+                .nodes().get(timeoutMs, TimeUnit.MILLISECONDS).size();
+    }
+
+    private CheckResult check(CheckedSupplier check) {
+        long start = System.currentTimeMillis();
+        try {
+            String detail = check.get();
+            return new CheckResult(true, detail, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            return new CheckResult(false, e.getMessage(), System.currentTimeMillis() - start);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CheckedSupplier {
+        String get() throws Exception;
+    }
+
+    public record CheckResult(boolean up, String detail, long durationMs) {
+    }
+
+    private record HealthSnapshot(boolean ready, Map<String, CheckResult> checks, LocalDateTime checkedAt,
+                                  long checkedAtMillis) {
+    }
+}
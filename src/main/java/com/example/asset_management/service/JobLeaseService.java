@@ -0,0 +1,140 @@
+package com.example.asset_management.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cluster-wide leases for scheduled jobs, kept in scheduler_leases. A lease is taken or renewed
+ * with one conditional UPDATE that only succeeds when the row is free, expired or already ours,
+ * and all expiry checks use the database clock so node clock skew does not matter. Leases held
+ * by this node are extended by {@link #renewLeases()} and released on shutdown.
+ * <p>
+ * Partitioned jobs record a partition as done for a run key only in
+ * {@link #completePartition}. Claiming does not mark the run, so a partition whose lease
+ * expires before it is completed, because its node died or stalled mid-walk, can be claimed
+ * again for the same run key. The old owner's completion then matches nothing.
+ */
+@Slf4j
+@Service
+public class JobLeaseService {
+
+    private static final String ENSURE_SQL =
+        "INSERT IGNORE INTO scheduler_leases (job_name, partition_no) VALUES (?, ?)";
+
+    private static final String ACQUIRE_SQL =
+        "UPDATE scheduler_leases SET owner_id = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+        "WHERE job_name = ? AND partition_no = ? " +
+        "AND (owner_id IS NULL OR owner_id = ? OR lease_until < CURRENT_TIMESTAMP)";
+
+    private static final String CLAIM_PARTITION_SQL =
+        "UPDATE scheduler_leases SET owner_id = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+        "WHERE job_name = ? AND partition_no = ? " +
+        "AND (last_run_key IS NULL OR last_run_key <> ?) " +
+        "AND (owner_id IS NULL OR owner_id = ? OR lease_until < CURRENT_TIMESTAMP)";
+
+    private static final String COMPLETE_PARTITION_SQL =
+        "UPDATE scheduler_leases SET last_run_key = ?, owner_id = NULL, lease_until = NULL " +
+        "WHERE job_name = ? AND partition_no = ? AND owner_id = ?";
+
+    private static final String RENEW_SQL =
+        "UPDATE scheduler_leases SET lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) " +
+        "WHERE owner_id = ? AND lease_until >= CURRENT_TIMESTAMP";
+
+    private static final String RELEASE_SQL =
+        "UPDATE scheduler_leases SET owner_id = NULL, lease_until = NULL WHERE owner_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int leaseSeconds;
+
+    // Rows known to exist, so the INSERT IGNORE runs once per (job, partition) per node
+    private final Set<String> ensuredRows = ConcurrentHashMap.newKeySet();
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public JobLeaseService(JdbcTemplate jdbcTemplate,
+                           @Value("${app.scheduler.lease.ttl-seconds:30}") int leaseSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Takes or renews the single lease for a job. Returns true while this node is its leader.
+     */
+    public boolean tryAcquire(String jobName) {
+        ensureRow(jobName, 0);
+        return jdbcTemplate.update(ACQUIRE_SQL, nodeId, leaseSeconds, jobName, 0, nodeId) == 1;
+    }
+
+    /**
+     * Claims one partition of a partitioned job that has not been completed for {@code runKey}
+     * and is not leased by another live node. This includes partitions claimed earlier in the
+     * same run whose lease expired before they were completed. Partitions are tried from a
+     * random offset so nodes starting together spread out. Returns null once nothing is left
+     * to claim.
+     */
+    public Integer claimPartition(String jobName, int partitions, String runKey) {
+        int offset = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int partition = (offset + i) % partitions;
+            ensureRow(jobName, partition);
+            if (jdbcTemplate.update(CLAIM_PARTITION_SQL, nodeId, leaseSeconds, jobName, partition,
+                    runKey, nodeId) == 1) {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks a claimed partition done for {@code runKey} and frees it.
+     */
+    public void completePartition(String jobName, int partition, String runKey) {
+        jdbcTemplate.update(COMPLETE_PARTITION_SQL, runKey, jobName, partition, nodeId);
+    }
+
+    /**
+     * Heartbeat: extends every lease this node still holds. A lease that has already lapsed is
+     * left alone, since another node may have taken it over.
+     */
+    public int renewLeases() {
+        return jdbcTemplate.update(RENEW_SQL, leaseSeconds, nodeId);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("nodeId", nodeId);
+        statistics.put("leaseSeconds", leaseSeconds);
+        statistics.put("leases", jdbcTemplate.queryForList(
+                "SELECT job_name, partition_no, owner_id, lease_until, last_run_key FROM scheduler_leases " +
+                "ORDER BY job_name, partition_no"));
+        return statistics;
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        try {
+            int released = jdbcTemplate.update(RELEASE_SQL, nodeId);
+            log.info("Released {} scheduler leases held by node {}", released, nodeId);
+        } catch (Exception e) {
+            log.warn("Could not release scheduler leases for node {}; they will expire", nodeId, e);
+        }
+    }
+
+    private void ensureRow(String jobName, int partition) {
+        if (ensuredRows.add(jobName + "#" + partition)) {
+            jdbcTemplate.update(ENSURE_SQL, jobName, partition);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.example.asset_management.service;
 
+import com.example.asset_management.consumer.LoanEventRouter;
 import com.example.asset_management.dto.KafkaEventPayload;
-import com.example.asset_management.model.AssetLoan;
 import com.example.asset_management.model.User;
 import com.example.asset_management.model.Asset;
-import com.example.asset_management.repository.UserRepository;
-import com.example.asset_management.repository.AssetRepository;
+import com.example.asset_management.model.OutboxEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -14,6 +16,7 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -26,148 +29,135 @@ public class KafkaEventService {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
-    private final UserRepository userRepository;
-    private final AssetRepository assetRepository;
+    private final MeterRegistry meterRegistry;
 
-    // Topic names
-    private static final String ASSETS_EVENTS_TOPIC = "assets.events";
-    private static final String NOTIFICATIONS_EMAIL_TOPIC = "notifications.email";
-    private static final String NOTIFICATIONS_PUSH_TOPIC = "notifications.push";
-    private static final String REALTIME_UPDATES_TOPIC = "realtime.updates";
+    // Topic names; loan events go to one canonical topic and LoanEventRouter derives the rest
+    private static final String ASSETS_EVENTS_TOPIC = LoanEventRouter.LOAN_EVENTS_TOPIC;
     private static final String USER_ACTIVITY_TOPIC = "user.activity";
+    private static final String CACHE_INVALIDATION_TOPIC = "cache.invalidation";
+    private static final String WEBSOCKET_DELIVERY_TOPIC = "websocket.delivery";
 
-    public void publishAssetAssignedEvent(AssetLoan loan) {
+    public void publishUserActivityEvent(String eventType, Long userId, Map<String, Object> activityData) {
         try {
-            // Create event payload
             KafkaEventPayload eventPayload = createEventPayload(
-                "AssetAssigned", 
-                "ASSET_LOAN", 
-                loan.getId(),
-                createAssetAssignedData(loan)
+                eventType, 
+                "USER", 
+                userId,
+                activityData
             );
 
-            // Publish to multiple topics
-            publishToTopic(ASSETS_EVENTS_TOPIC, eventPayload);
-            publishToTopic(REALTIME_UPDATES_TOPIC, eventPayload);
-            
-            // Trigger notification
-            publishNotificationEvent(loan, "AssetAssigned");
+            publishToTopic(USER_ACTIVITY_TOPIC, eventPayload);
             
-            log.info("AssetAssigned event published for loan ID: {}", loan.getId());
+            log.info("User activity event published: {} for user: {}", eventType, userId);
             
         } catch (Exception e) {
-            log.error("Failed to publish AssetAssigned event for loan ID: {}", loan.getId(), e);
+            log.error("Failed to publish user activity event: {} for user: {}", eventType, userId, e);
         }
     }
 
-    public void publishAssetReturnedEvent(AssetLoan loan) {
+    public void publishCacheInvalidationEvent(String cacheName, Long entryId, String originNodeId) {
         try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("cacheName", cacheName);
+            data.put("entryId", entryId);
+            data.put("originNodeId", originNodeId);
+
             KafkaEventPayload eventPayload = createEventPayload(
-                "AssetReturned", 
-                "ASSET_LOAN", 
-                loan.getId(),
-                createAssetReturnedData(loan)
+                "CacheInvalidated", 
+                "CACHE", 
+                entryId,
+                data
             );
 
-            publishToTopic(ASSETS_EVENTS_TOPIC, eventPayload);
-            publishToTopic(REALTIME_UPDATES_TOPIC, eventPayload);
-            
-            publishNotificationEvent(loan, "AssetReturned");
+            publishToTopic(CACHE_INVALIDATION_TOPIC, eventPayload);
             
-            log.info("AssetReturned event published for loan ID: {}", loan.getId());
+            log.debug("Cache invalidation published: {} entry {}", cacheName, entryId);
             
         } catch (Exception e) {
-            log.error("Failed to publish AssetReturned event for loan ID: {}", loan.getId(), e);
+            log.error("Failed to publish cache invalidation: {} entry {}", cacheName, entryId, e);
         }
     }
 
-    public void publishAssetDueSoonEvent(AssetLoan loan) {
+    /**
+     * One invalidation for many entries of a cache, so a bulk write costs a single record
+     * instead of one per entry.
+     */
+    public void publishCacheInvalidationEvent(String cacheName, Collection<Long> entryIds, String originNodeId) {
         try {
+            Map<String, Object> data = new HashMap<>();
+            data.put("cacheName", cacheName);
+            data.put("entryIds", entryIds);
+            data.put("originNodeId", originNodeId);
+
             KafkaEventPayload eventPayload = createEventPayload(
-                "AssetDueSoon", 
-                "ASSET_LOAN", 
-                loan.getId(),
-                createAssetDueSoonData(loan)
+                "CacheInvalidated",
+                "CACHE",
+                null,
+                data
             );
 
-            publishToTopic(ASSETS_EVENTS_TOPIC, eventPayload);
-            publishNotificationEvent(loan, "AssetDueSoon");
-            
-            log.info("AssetDueSoon event published for loan ID: {}", loan.getId());
-            
-        } catch (Exception e) {
-            log.error("Failed to publish AssetDueSoon event for loan ID: {}", loan.getId(), e);
-        }
-    }
+            sendToTopic(CACHE_INVALIDATION_TOPIC, "CACHE-" + cacheName, eventPayload);
 
-    public void publishAssetOverdueEvent(AssetLoan loan) {
-        try {
-            KafkaEventPayload eventPayload = createEventPayload(
-                "AssetOverdue", 
-                "ASSET_LOAN", 
-                loan.getId(),
-                createAssetOverdueData(loan)
-            );
+            log.debug("Cache invalidation published: {} {} entries", cacheName, entryIds.size());
 
-            publishToTopic(ASSETS_EVENTS_TOPIC, eventPayload);
-            publishNotificationEvent(loan, "AssetOverdue");
-            
-            log.info("AssetOverdue event published for loan ID: {}", loan.getId());
-            
         } catch (Exception e) {
-            log.error("Failed to publish AssetOverdue event for loan ID: {}", loan.getId(), e);
+            log.error("Failed to publish cache invalidation: {} {} entries", cacheName, entryIds.size(), e);
         }
     }
 
-    public void publishUserActivityEvent(String eventType, Long userId, Map<String, Object> activityData) {
+    /**
+     * Publishes a relayed outbox row as one canonical record on assets.events; the email, push
+     * and realtime consumers derive their streams from it. The event ID is derived from the
+     * outbox row so consumers can de-duplicate redeliveries. Users and assets are pre-loaded by
+     * the caller for the whole batch. The returned future completes once the send is acknowledged.
+     */
+    public CompletableFuture<Void> publishOutboxEvent(OutboxEvent outboxEvent, Map<Long, User> users, Map<Long, Asset> assets) {
         try {
+            Map<String, Object> data = objectMapper.readValue(
+                outboxEvent.getPayloadJson(), new TypeReference<Map<String, Object>>() {});
+
+            boolean loanEvent = "ASSET_LOAN".equals(outboxEvent.getAggregateType())
+                    && data.get("userId") != null && data.get("assetId") != null;
+            User user = loanEvent ? users.get(((Number) data.get("userId")).longValue()) : null;
+            Asset asset = loanEvent ? assets.get(((Number) data.get("assetId")).longValue()) : null;
+            if (loanEvent) {
+                enrichLoanData(data, user, asset);
+            }
+
             KafkaEventPayload eventPayload = createEventPayload(
-                eventType, 
-                "USER", 
-                userId,
-                activityData
+                outboxEvent.getEventType(),
+                outboxEvent.getAggregateType(),
+                outboxEvent.getAggregateId(),
+                data
             );
+            eventPayload.setEventId("outbox-" + outboxEvent.getId());
+            eventPayload.setTimestamp(outboxEvent.getCreatedAt());
+
+            return sendToTopic(ASSETS_EVENTS_TOPIC, eventPayload).thenAccept(result -> { });
 
-            publishToTopic(USER_ACTIVITY_TOPIC, eventPayload);
-            
-            log.info("User activity event published: {} for user: {}", eventType, userId);
-            
         } catch (Exception e) {
-            log.error("Failed to publish user activity event: {} for user: {}", eventType, userId, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
-    private void publishNotificationEvent(AssetLoan loan, String eventType) {
-        try {
-            User user = userRepository.findById(loan.getUserId()).orElse(null);
-            Asset asset = assetRepository.findById(loan.getAssetId()).orElse(null);
-            
-            if (user != null && asset != null) {
-                Map<String, Object> notificationData = new HashMap<>();
-                notificationData.put("recipientEmail", user.getEmail());
-                notificationData.put("recipientName", user.getFirstName() + " " + user.getLastName());
-                notificationData.put("assetName", asset.getName());
-                notificationData.put("assetTag", asset.getAssetTag());
-                notificationData.put("dueAt", loan.getDueAt());
-                notificationData.put("eventType", eventType);
-
-                KafkaEventPayload notificationPayload = createEventPayload(
-                    "NotificationRequest", 
-                    "NOTIFICATION", 
-                    loan.getId(),
-                    notificationData
-                );
-
-                publishToTopic(NOTIFICATIONS_EMAIL_TOPIC, notificationPayload);
-                publishToTopic(NOTIFICATIONS_PUSH_TOPIC, notificationPayload);
-            }
-            
-        } catch (Exception e) {
-            log.error("Failed to publish notification event for loan ID: {}", loan.getId(), e);
+    /**
+     * Adds the denormalized fields of payload version 2.1 so consumers can render and notify
+     * without lookups.
+     */
+    private void enrichLoanData(Map<String, Object> data, User user, Asset asset) {
+        if (user != null) {
+            data.put("username", user.getUsername());
+            data.put("recipientEmail", user.getEmail());
+            data.put("recipientName", user.getFirstName() + " " + user.getLastName());
+        }
+        if (asset != null) {
+            data.put("assetName", asset.getName());
+            data.put("assetTag", asset.getAssetTag());
         }
     }
 
-    private KafkaEventPayload createEventPayload(String eventType, String aggregateType, Long aggregateId, Map<String, Object> data) {
+    // Package-private so the JMH benchmarks can measure it directly
+    KafkaEventPayload createEventPayload(String eventType, String aggregateType, Long aggregateId, Map<String, Object> data) {
         KafkaEventPayload payload = new KafkaEventPayload();
         payload.setEventId(UUID.randomUUID().toString());
         payload.setEventType(eventType);
@@ -176,7 +166,7 @@ public class KafkaEventService {
         payload.setAggregateId(aggregateId);
         payload.setData(data);
         payload.setSource("asset-management-api");
-        payload.setVersion("1.0");
+        payload.setVersion(KafkaEventPayload.CURRENT_VERSION);
         
         Map<String, String> metadata = new HashMap<>();
         metadata.put("correlation-id", UUID.randomUUID().toString());
@@ -186,98 +176,74 @@ public class KafkaEventService {
         return payload;
     }
 
-    private void publishToTopic(String topicName, KafkaEventPayload payload) {
+    /**
+     * Hands a WebSocket push to every node, each of which delivers it to its own sessions.
+     * {@code username} is null for topic broadcasts; user pushes are keyed by username so a
+     * user's messages stay in order.
+     */
+    public void publishWebSocketDelivery(String destination, String username, Map<String, Object> message) {
         try {
-            String key = payload.getAggregateType() + "-" + payload.getAggregateId();
-            String message = objectMapper.writeValueAsString(payload);
-            
-            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(topicName, key, message);
-            
-            future.whenComplete((result, exception) -> {
-                if (exception == null) {
-                    log.debug("Event sent successfully to topic {}: {} with offset {}",
-                        topicName, payload.getEventType(), result.getRecordMetadata().offset());
-                } else {
-                    log.error("Failed to send event to topic {}: {}", topicName, payload.getEventType(), exception);
-                }
-            });
-            
-        } catch (Exception e) {
-            log.error("Failed to serialize and publish event to topic {}: {}", topicName, payload.getEventType(), e);
-        }
-    }
+            Map<String, Object> data = new HashMap<>();
+            data.put("destination", destination);
+            data.put("username", username);
+            data.put("message", message);
 
-    private Map<String, Object> createAssetAssignedData(AssetLoan loan) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("loanId", loan.getId());
-        data.put("assetId", loan.getAssetId());
-        data.put("userId", loan.getUserId());
-        data.put("assignedById", loan.getAssignedById());
-        data.put("dueAt", loan.getDueAt());
-        data.put("assignedAt", loan.getApprovedAt() != null ? loan.getApprovedAt() : loan.getRequestedAt());
-        data.put("status", loan.getStatus().toString());
-        return data;
-    }
+            KafkaEventPayload eventPayload = createEventPayload("WebSocketDelivery", "WEBSOCKET", null, data);
+            sendToTopic(WEBSOCKET_DELIVERY_TOPIC, username != null ? username : destination, eventPayload);
 
-    private Map<String, Object> createAssetReturnedData(AssetLoan loan) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("loanId", loan.getId());
-        data.put("assetId", loan.getAssetId());
-        data.put("userId", loan.getUserId());
-        data.put("returnedAt", loan.getReturnedAt());
-        data.put("damageNote", loan.getDamageNote());
-        data.put("status", loan.getStatus().toString());
-        return data;
+        } catch (Exception e) {
+            log.error("Failed to publish WebSocket delivery to {} for {}", destination, username, e);
+        }
     }
 
-    private Map<String, Object> createAssetDueSoonData(AssetLoan loan) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("loanId", loan.getId());
-        data.put("assetId", loan.getAssetId());
-        data.put("userId", loan.getUserId());
-        data.put("dueAt", loan.getDueAt());
-        data.put("daysUntilDue", java.time.temporal.ChronoUnit.DAYS.between(LocalDateTime.now(), loan.getDueAt()));
-        return data;
+    private void publishToTopic(String topicName, KafkaEventPayload payload) {
+        try {
+            sendToTopic(topicName, payload);
+        } catch (Exception e) {
+            log.error("Failed to serialize and publish event to topic {}: {}", topicName, payload.getEventType(), e);
+        }
     }
 
-    private Map<String, Object> createAssetOverdueData(AssetLoan loan) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("loanId", loan.getId());
-        data.put("assetId", loan.getAssetId());
-        data.put("userId", loan.getUserId());
-        data.put("dueAt", loan.getDueAt());
-        data.put("daysPastDue", java.time.temporal.ChronoUnit.DAYS.between(loan.getDueAt(), LocalDateTime.now()));
-        return data;
+    private CompletableFuture<SendResult<String, String>> sendToTopic(String topicName, KafkaEventPayload payload) throws Exception {
+        return sendToTopic(topicName, payload.getAggregateType() + "-" + payload.getAggregateId(), payload);
     }
 
-    public void publishAssetRejectedEvent(AssetLoan loan) {
+    private CompletableFuture<SendResult<String, String>> sendToTopic(String topicName, String key, KafkaEventPayload payload) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, String>> future;
         try {
-            KafkaEventPayload eventPayload = createEventPayload(
-                "AssetRejected", 
-                "ASSET_LOAN", 
-                loan.getId(),
-                createAssetRejectedData(loan)
-            );
-
-            publishToTopic(ASSETS_EVENTS_TOPIC, eventPayload);
-            publishToTopic(REALTIME_UPDATES_TOPIC, eventPayload);
-            
-            publishNotificationEvent(loan, "AssetRejected");
-            
-            log.info("AssetRejected event published for loan ID: {}", loan.getId());
-            
+            String message = objectMapper.writeValueAsString(payload);
+            future = kafkaTemplate.send(topicName, key, message);
         } catch (Exception e) {
-            log.error("Failed to publish AssetRejected event for loan ID: {}", loan.getId(), e);
+            recordSend(sample, topicName, e);
+            throw e;
         }
+        
+        future.whenComplete((result, exception) -> {
+            recordSend(sample, topicName, exception);
+            if (exception == null) {
+                log.debug("Event sent successfully to topic {}: {} with offset {}",
+                    topicName, payload.getEventType(),
+                    result.getRecordMetadata() != null ? result.getRecordMetadata().offset() : -1);
+            } else {
+                log.error("Failed to send event to topic {}: {}", topicName, payload.getEventType(), exception);
+            }
+        });
+        
+        return future;
     }
 
-    private Map<String, Object> createAssetRejectedData(AssetLoan loan) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("loanId", loan.getId());
-        data.put("assetId", loan.getAssetId());
-        data.put("userId", loan.getUserId());
-        data.put("rejectedAt", LocalDateTime.now());
-        data.put("status", loan.getStatus().toString());
-        return data;
+    // Produce latency runs from serialization to broker acknowledgement
+    private void recordSend(Timer.Sample sample, String topicName, Throwable exception) {
+        sample.stop(Timer.builder("app.kafka.produce")
+                .tag("topic", topicName)
+                .tag("outcome", exception == null ? "success" : "failure")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
+        if (exception != null) {
+            meterRegistry.counter("app.kafka.produce.failures", "topic", topicName,
+                    "exception", exception.getClass().getSimpleName()).increment();
+        }
     }
+
 }
@@ -0,0 +1,184 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.dto.NotificationMessage;
+import com.example.asset_management.event.LoanApprovedEvent;
+import com.example.asset_management.event.LoanAssignedEvent;
+import com.example.asset_management.event.LoanEvent;
+import com.example.asset_management.event.LoanRejectedEvent;
+import com.example.asset_management.event.LoanRequestedEvent;
+import com.example.asset_management.event.LoanReturnedEvent;
+import com.example.asset_management.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the side effects of loan state changes once their transaction has committed: WebSocket
+ * pushes, in-app notifications and the manager fan-out. AssetLoanService only publishes a
+ * {@link LoanEvent}, so its transaction holds row locks and a pooled connection for the SQL
+ * alone. Work runs on a small bounded pool; Kafka events are not sent from here, they are
+ * written to the outbox inside the transaction and relayed separately.
+ */
+@Slf4j
+@Service
+public class LoanEventListener {
+
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final NotificationService notificationService;
+    private final LoanRequestFanoutService loanRequestFanoutService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AtomicLong handled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LoanEventListener(WebSocketNotificationService webSocketNotificationService,
+                             NotificationService notificationService,
+                             LoanRequestFanoutService loanRequestFanoutService,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.loan.events.threads:4}") int threads,
+                             @Value("${app.loan.events.queue-capacity:1000}") int queueCapacity,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.webSocketNotificationService = webSocketNotificationService;
+        this.notificationService = notificationService;
+        this.loanRequestFanoutService = loanRequestFanoutService;
+        this.userRepository = userRepository;
+
+        // A new transaction per event: work the pool pushes back onto the committing thread would
+        // otherwise join the transaction that has just finished and never commit
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("loan-events-");
+        if (virtualThreads) {
+            this.executor.setThreadFactory(Thread.ofVirtual().name("loan-events-", 0).factory());
+        }
+        // A full queue pushes the work back onto the committing thread instead of dropping it
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.initialize();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAssigned(LoanAssignedEvent event) {
+        dispatch(event, () -> webSocketNotificationService.sendAssetEventNotification(
+                event.username(),
+                "AssetAssigned",
+                event.assetName(),
+                String.format("Asset '%s' has been assigned to you. Due date: %s", event.assetName(), event.dueAt())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRequested(LoanRequestedEvent event) {
+        dispatch(event, () -> {
+            webSocketNotificationService.sendApprovalRequestNotification(event.requesterName(), event.assetName());
+            webSocketNotificationService.sendLoanStatusNotification(
+                    event.username(),
+                    "Pending Approval",
+                    event.assetName(),
+                    String.format("Your request for asset '%s' has been submitted and is pending manager approval",
+                            event.assetName()));
+            loanRequestFanoutService.notifyManagers(event.requesterName(), event.assetName(), event.assetTag(),
+                    event.loanId());
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onApproved(LoanApprovedEvent event) {
+        dispatch(event, () -> {
+            notificationService.notifyLoanApproved(event.userId(), event.assetName(), event.assetTag(), event.loanId());
+            userRepository.findById(event.userId()).ifPresent(loanUser -> {
+                webSocketNotificationService.sendLoanStatusNotification(
+                        loanUser.getUsername(),
+                        "Approved",
+                        event.assetName(),
+                        String.format("Your request for asset '%s' has been approved by %s",
+                                event.assetName(), event.approverName()));
+                webSocketNotificationService.sendNotificationToManagers(NotificationMessage.builder()
+                        .type("APPROVAL_COMPLETED")
+                        .title("Loan Approved")
+                        .message(String.format("%s approved %s's request for asset '%s'",
+                                event.approverName(), loanUser.getFirstName() + " " + loanUser.getLastName(),
+                                event.assetName()))
+                        .severity("success")
+                        .build());
+            });
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRejected(LoanRejectedEvent event) {
+        dispatch(event, () -> {
+            notificationService.notifyLoanRejected(event.userId(), event.assetName(), event.assetTag(), event.loanId());
+            userRepository.findById(event.userId()).ifPresent(loanUser -> {
+                webSocketNotificationService.sendLoanStatusNotification(
+                        loanUser.getUsername(),
+                        "Rejected",
+                        event.assetName(),
+                        String.format("Your request for asset '%s' has been rejected by %s",
+                                event.assetName(), event.rejectorName()));
+                webSocketNotificationService.sendNotificationToManagers(NotificationMessage.builder()
+                        .type("REJECTION_COMPLETED")
+                        .title("Loan Rejected")
+                        .message(String.format("%s rejected %s's request for asset '%s'",
+                                event.rejectorName(), loanUser.getFirstName() + " " + loanUser.getLastName(),
+                                event.assetName()))
+                        .severity("warning")
+                        .build());
+            });
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReturned(LoanReturnedEvent event) {
+        dispatch(event, () -> webSocketNotificationService.sendAssetEventNotification(
+                event.username(),
+                "AssetReturned",
+                event.assetName(),
+                String.format("Asset '%s' has been returned successfully", event.assetName())));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueueSize();
+    }
+
+    public long getHandledCount() {
+        return handled.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void dispatch(LoanEvent event, Runnable sideEffects) {
+        executor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> sideEffects.run());
+                handled.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.error("Failed to handle {} for loan {}", event.getClass().getSimpleName(), event.loanId(), e);
+            }
+        });
+    }
+}
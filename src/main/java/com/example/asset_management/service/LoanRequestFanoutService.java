@@ -0,0 +1,33 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.model.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Tells every manager about a new loan request. Called by {@link LoanEventListener} off the
+ * request thread once the loan commits; reads the cached manager list and writes all
+ * notifications with one batched insert.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoanRequestFanoutService {
+
+    private final NotificationService notificationService;
+    private final ManagerDirectoryService managerDirectoryService;
+
+    public void notifyManagers(String requesterName, String assetName, String assetTag, Long loanId) {
+        List<Long> managerIds = managerDirectoryService.getActiveManagerIds();
+        notificationService.createNotifications(
+                managerIds,
+                "New Loan Request",
+                String.format("%s has requested to borrow %s (%s)", requesterName, assetName, assetTag),
+                Notification.NotificationType.LOAN_REQUEST_RECEIVED,
+                loanId);
+        log.info("Notified {} managers of loan request {}", managerIds.size(), loanId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.model.User;
+import com.example.asset_management.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Ids of the active managers, cached so loan request fan-out does not run the role join on every
+ * request. The list is dropped whenever a user's cached principal is evicted (user creation,
+ * role, status or deletion changes on any node) and otherwise refreshed after a short TTL.
+ */
+@Slf4j
+@Service
+public class ManagerDirectoryService {
+
+    private static final String MANAGER_ROLE = "MANAGER";
+
+    private final UserRepository userRepository;
+    private final LoadingCache<String, List<Long>> managerIds;
+
+    public ManagerDirectoryService(UserRepository userRepository,
+                                   @Value("${app.notification.manager-cache-ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.managerIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(1)
+                .build(role -> userRepository.findByRoleName(role).stream().map(User::getId).toList());
+    }
+
+    public List<Long> getActiveManagerIds() {
+        return managerIds.get(MANAGER_ROLE);
+    }
+
+    public void invalidate() {
+        managerIds.invalidateAll();
+        log.debug("Manager directory invalidated");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purges read notifications older than the configured age so the notifications table, and with
+ * it inbox latency, stays flat. Rows go in bounded batches, each deleted by primary key in its
+ * own short transaction, with a cap on batches per run so one run never holds the table for long.
+ * Unread notifications are never touched.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int readMaxAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile long lastRunPurged;
+    private volatile long lastRunDurationMs;
+    private volatile LocalDateTime lastRunAt;
+
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${app.notification.retention.read-max-age-days:90}") int readMaxAgeDays,
+                                        @Value("${app.notification.retention.batch-size:1000}") int batchSize,
+                                        @Value("${app.notification.retention.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readMaxAgeDays = readMaxAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    public long purgeReadNotifications() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(readMaxAgeDays);
+
+        long purged = 0;
+        int batches = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : notificationRepository.deleteByIds(ids);
+            });
+            purged += deleted != null ? deleted : 0;
+            batches++;
+        } while (deleted != null && deleted == batchSize && batches < maxBatchesPerRun);
+
+        lastRunPurged = purged;
+        lastRunDurationMs = System.currentTimeMillis() - start;
+        lastRunAt = LocalDateTime.now();
+        totalPurged.addAndGet(purged);
+
+        log.info("Notification retention purged {} read notifications older than {} in {} batches, {} ms",
+                purged, cutoff, batches, lastRunDurationMs);
+        return purged;
+    }
+
+    public long getTotalPurged() {
+        return totalPurged.get();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("readMaxAgeDays", readMaxAgeDays);
+        statistics.put("totalPurged", totalPurged.get());
+        statistics.put("lastRunPurged", lastRunPurged);
+        statistics.put("lastRunDurationMs", lastRunDurationMs);
+        statistics.put("lastRunAt", lastRunAt);
+        return statistics;
+    }
+}
@@ -1,21 +1,39 @@
 package com.example.asset_management.service;
 
+import com.example.asset_management.config.AppProperties;
+import com.example.asset_management.dto.CursorPageResponse;
 import com.example.asset_management.model.Notification;
 import com.example.asset_management.model.User;
 import com.example.asset_management.repository.NotificationRepository;
 import com.example.asset_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (user_id, title, message, type, is_read, created_at, related_loan_id) " +
+        "VALUES (?, ?, ?, ?, FALSE, ?, ?)";
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadCountService unreadCountService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AppProperties appProperties;
 
     @Transactional
     public void createNotification(Long userId, String title, String message, Notification.NotificationType type, Long relatedLoanId) {
@@ -29,9 +47,59 @@ public class NotificationService {
                 .build();
         
         notificationRepository.save(notification);
+        unreadCountService.increment(userId);
         log.info("Created notification for user {} - {}: {}", userId, title, message);
     }
 
+    /**
+     * Creates the same notification for many users with one JDBC batch. Going through JDBC rather
+     * than saveAll lets the driver batch the inserts, which Hibernate disables for IDENTITY ids;
+     * with rewriteBatchedStatements the batch goes out as multi-row INSERTs.
+     */
+    @Transactional
+    public void createNotifications(List<Long> userIds, String title, String message,
+                                    Notification.NotificationType type, Long relatedLoanId) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, title);
+            ps.setString(3, message);
+            ps.setString(4, type.name());
+            ps.setTimestamp(5, now);
+            if (relatedLoanId != null) {
+                ps.setLong(6, relatedLoanId);
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+        });
+        unreadCountService.incrementAll(userIds);
+        log.info("Created {} notifications - {}: {}", userIds.size(), title, message);
+    }
+
+    /**
+     * Keyset-paginated inbox, newest first. The cursor encodes the (createdAt, id) of the last
+     * row returned, so every page is a range scan on (user_id, created_at, id) however deep it is.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Notification> getInboxPage(Long userId, String cursor, Integer limit) {
+        int pageSize = appProperties.getPagination().resolvePageSize(limit);
+        Pageable page = CursorPageResponse.fetchRequest(pageSize);
+        List<Notification> notifications;
+        if (cursor == null || cursor.isEmpty()) {
+            notifications = notificationRepository.findInboxFirstPage(userId, page);
+        } else {
+            InboxCursor after = InboxCursor.decode(cursor);
+            notifications = notificationRepository.findInboxPageBefore(userId, after.createdAt(), after.id(), page);
+        }
+
+        return CursorPageResponse.fromRows(notifications, pageSize,
+                last -> new InboxCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
     public void sendAssetAssignedNotification(String userEmail, String assetName, String dueDate) {
         log.info("NOTIFICATION: Asset '{}' has been assigned to {}. Due date: {}", 
                 assetName, userEmail, dueDate);
@@ -96,14 +164,37 @@ public class NotificationService {
     }
 
     @Transactional
-    public void markAsRead(Long notificationId) {
+    public void markAsRead(Long notificationId, Long userId) {
         log.debug("Marking notification {} as read", notificationId);
-        notificationRepository.markAsReadById(notificationId);
+        // Only count it if this call flipped an unread notification owned by the user
+        if (notificationRepository.markAsReadById(notificationId, userId) > 0) {
+            unreadCountService.decrement(userId);
+        }
     }
 
     @Transactional
     public void markAllAsRead(Long userId) {
         log.debug("Marking all notifications as read for user {}", userId);
         notificationRepository.markAllAsReadByUserId(userId);
+        unreadCountService.reset(userId);
+    }
+
+    private record InboxCursor(LocalDateTime createdAt, Long id) {
+
+        String encode() {
+            String raw = createdAt + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static InboxCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('_');
+                return new InboxCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid notification cursor: " + cursor);
+            }
+        }
     }
 }
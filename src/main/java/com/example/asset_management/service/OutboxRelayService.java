@@ -0,0 +1,221 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.AppProperties;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.OutboxEvent;
+import com.example.asset_management.model.User;
+import com.example.asset_management.repository.AssetRepository;
+import com.example.asset_management.repository.OutboxEventRepository;
+import com.example.asset_management.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains outbox_events to Kafka. Each batch is claimed with SELECT ... FOR UPDATE SKIP LOCKED,
+ * published with pipelined asynchronous sends, and marked sent (or scheduled for retry) in bulk
+ * before the claiming transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserRepository userRepository;
+    private final AssetRepository assetRepository;
+    private final KafkaEventService kafkaEventService;
+    private final AppProperties appProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong totalSent = new AtomicLong();
+    private final AtomicLong totalFailed = new AtomicLong();
+    private final AtomicLong lastRunSent = new AtomicLong();
+    private final AtomicLong lastRunDurationMs = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+
+    /**
+     * Drains the outbox until a partial batch comes back or the per-run batch cap is reached.
+     * Each batch runs in its own transaction so row locks are released as soon as it settles.
+     */
+    public void relayPendingEvents() {
+        long start = System.currentTimeMillis();
+        int batchSize = appProperties.getOutbox().getBatchSize();
+        int maxBatches = appProperties.getOutbox().getMaxBatchesPerRun();
+
+        lastRunSent.set(0);
+        int batches = 0;
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> relayBatch());
+            batches++;
+        } while (claimed != null && claimed == batchSize && batches < maxBatches);
+
+        lastRunDurationMs.set(System.currentTimeMillis() - start);
+        lastRunAt = LocalDateTime.now();
+
+        if (lastRunSent.get() > 0) {
+            log.info("Outbox relay published {} events in {} ms", lastRunSent.get(), lastRunDurationMs.get());
+        }
+    }
+
+    /**
+     * Claims, publishes and settles one batch. Returns the number of rows claimed so the
+     * caller can keep draining while full batches come back.
+     */
+    private int relayBatch() {
+        int maxRetries = appProperties.getNotification().getMaxRetryAttempts();
+        int batchSize = appProperties.getOutbox().getBatchSize();
+
+        List<OutboxEvent> batch = outboxEventRepository.claimUnsentBatch(maxRetries, LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, User> users = new HashMap<>();
+        Map<Long, Asset> assets = new HashMap<>();
+        preloadReferences(batch, users, assets);
+
+        // Fire every send before waiting on any of them so the producer can pipeline the batch
+        Map<Long, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            sends.put(event.getId(), kafkaEventService.publishOutboxEvent(event, users, assets));
+        }
+
+        try {
+            CompletableFuture.allOf(sends.values().toArray(new CompletableFuture[0]))
+                    .get(appProperties.getOutbox().getSendTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Outbox batch did not fully complete: {}", e.getMessage());
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        sends.forEach((id, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                sentIds.add(id);
+            } else {
+                failedIds.add(id);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!sentIds.isEmpty()) {
+            outboxEventRepository.markSent(sentIds, now);
+        }
+        if (!failedIds.isEmpty()) {
+            outboxEventRepository.markFailed(failedIds, now, appProperties.getNotification().getRetryDelaySeconds());
+            log.warn("Failed to relay {} outbox events, scheduled for retry: {}", failedIds.size(), failedIds);
+        }
+
+        totalSent.addAndGet(sentIds.size());
+        totalFailed.addAndGet(failedIds.size());
+        lastRunSent.addAndGet(sentIds.size());
+
+        log.debug("Relayed outbox batch: {} sent, {} failed", sentIds.size(), failedIds.size());
+        return batch.size();
+    }
+
+    /**
+     * Throughput and lag figures for the relay: events sent in the last run and per second,
+     * lifetime totals, the unsent backlog, dead rows past the retry limit, and the age of the
+     * oldest event still awaiting relay.
+     */
+    public Map<String, Object> getRelayStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+
+        long durationMs = lastRunDurationMs.get();
+        long sentLastRun = lastRunSent.get();
+
+        statistics.put("totalSent", totalSent.get());
+        statistics.put("totalFailed", totalFailed.get());
+        statistics.put("lastRunSent", sentLastRun);
+        statistics.put("lastRunDurationMs", durationMs);
+        statistics.put("lastRunEventsPerSecond", durationMs > 0 ? sentLastRun * 1000.0 / durationMs : 0.0);
+        statistics.put("lastRunAt", lastRunAt);
+        statistics.put("backlog", getBacklog());
+        statistics.put("dead", getDeadCount());
+        statistics.put("lagSeconds", getLagSeconds());
+
+        return statistics;
+    }
+
+    public long getTotalSent() {
+        return totalSent.get();
+    }
+
+    public long getTotalFailed() {
+        return totalFailed.get();
+    }
+
+    /**
+     * Unsent events still within the retry limit.
+     */
+    public long getBacklog() {
+        return outboxEventRepository.countUnsent(appProperties.getNotification().getMaxRetryAttempts());
+    }
+
+    /**
+     * Unsent events that exhausted their retries and will not be relayed again.
+     */
+    public long getDeadCount() {
+        return outboxEventRepository.countDead(appProperties.getNotification().getMaxRetryAttempts());
+    }
+
+    public long getLagSeconds() {
+        LocalDateTime oldest = outboxEventRepository.findOldestUnsentCreatedAt(
+                appProperties.getNotification().getMaxRetryAttempts());
+        return oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0L;
+    }
+
+    private void preloadReferences(List<OutboxEvent> batch, Map<Long, User> users, Map<Long, Asset> assets) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> assetIds = new HashSet<>();
+
+        for (OutboxEvent event : batch) {
+            if (!"ASSET_LOAN".equals(event.getAggregateType())) {
+                continue;
+            }
+            try {
+                Map<String, Object> payload = objectMapper.readValue(
+                        event.getPayloadJson(), new TypeReference<Map<String, Object>>() {});
+                if (payload.get("userId") instanceof Number userId) {
+                    userIds.add(userId.longValue());
+                }
+                if (payload.get("assetId") instanceof Number assetId) {
+                    assetIds.add(assetId.longValue());
+                }
+            } catch (Exception e) {
+                log.warn("Could not read payload of outbox event {}", event.getId(), e);
+            }
+        }
+
+        if (!userIds.isEmpty()) {
+            users.putAll(userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity())));
+        }
+        if (!assetIds.isEmpty()) {
+            assets.putAll(assetRepository.findAllById(assetIds).stream()
+                    .collect(Collectors.toMap(Asset::getId, Function.identity())));
+        }
+    }
+}
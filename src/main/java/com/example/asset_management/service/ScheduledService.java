@@ -1,77 +1,75 @@
 package com.example.asset_management.service;
 
-import com.example.asset_management.model.AssetLoan;
-import com.example.asset_management.model.AssetLoan.LoanStatus;
-import com.example.asset_management.repository.AssetLoanRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.List;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScheduledService {
 
-    private final AssetLoanRepository assetLoanRepository;
-    private final EventService eventService;
-    private final KafkaEventService kafkaEventService;
+    private static final String OUTBOX_RELAY_JOB = "outbox-relay";
+    private static final String NOTIFICATION_RETENTION_JOB = "notification-retention";
 
-    @Value("${app.due-reminder-days:2}")
-    private int dueReminderDays;
+    private final DueDateSweepService dueDateSweepService;
+    private final DueDateTimerService dueDateTimerService;
+    private final OutboxRelayService outboxRelayService;
+    private final JobLeaseService jobLeaseService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final HealthProbeService healthProbeService;
 
-    // Run daily at 9:00 AM
+    // Run daily at 9:00 AM; with the timing wheel on this is a reconciliation pass that catches
+    // anything missed while a node was down and reseeds the wheel
     @Scheduled(cron = "0 0 9 * * ?")
     public void scanDueDates() {
         log.info("Starting daily due date scan...");
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime futureDate = now.plusDays(dueReminderDays);
-        
-        // Find loans due soon
-        List<AssetLoan> dueSoonLoans = assetLoanRepository.findLoansDueSoon(now, futureDate);
-        log.info("Found {} loans due soon", dueSoonLoans.size());
-        
-        for (AssetLoan loan : dueSoonLoans) {
-            try {
-                eventService.publishAssetDueSoonEvent(loan);
-                kafkaEventService.publishAssetDueSoonEvent(loan);
-                log.info("Published AssetDueSoon event for loan ID: {}", loan.getId());
-            } catch (Exception e) {
-                log.error("Failed to publish AssetDueSoon event for loan ID: {}", loan.getId(), e);
-            }
-        }
-        
-        // Find overdue loans
-        List<AssetLoan> overdueLoans = assetLoanRepository.findOverdueLoans(now);
-        log.info("Found {} overdue loans", overdueLoans.size());
-        
-        for (AssetLoan loan : overdueLoans) {
-            try {
-                // Update loan status to overdue
-                loan.setStatus(LoanStatus.overdue);
-                assetLoanRepository.save(loan);
-                
-                eventService.publishAssetOverdueEvent(loan);
-                kafkaEventService.publishAssetOverdueEvent(loan);
-                log.info("Published AssetOverdue event for loan ID: {}", loan.getId());
-            } catch (Exception e) {
-                log.error("Failed to publish AssetOverdue event for loan ID: {}", loan.getId(), e);
-            }
-        }
-        
-        log.info("Daily due date scan completed");
+        dueDateSweepService.sweep();
+        dueDateTimerService.seed();
+    }
+
+    // Reclaim partitions of today's sweep whose node died mid-walk; cheap when all are done
+    @Scheduled(cron = "${app.sweep.resume-cron:0 */5 9-23 * * ?}")
+    public void resumeDueDateSweep() {
+        dueDateSweepService.resumeSweep();
+    }
+
+    // Fire due date timers that came due since the last tick
+    @Scheduled(fixedDelayString = "${app.due-dates.timing-wheel.tick-interval-ms:10000}")
+    public void fireDueDateTimers() {
+        dueDateTimerService.tick();
     }
 
-    // Run every 5 minutes to process outbox events
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    // Drain outbox events to Kafka; fixed delay so runs never overlap on one node, and only the
+    // lease holder polls so the cluster does not multiply the load on the outbox table
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:2000}")
     public void processOutboxEvents() {
+        if (!jobLeaseService.tryAcquire(OUTBOX_RELAY_JOB)) {
+            return;
+        }
         log.debug("Processing outbox events...");
-        // This would be implemented to send events to Kafka
-        // For now, we'll just log that it's running
+        outboxRelayService.relayPendingEvents();
+    }
+
+    // Purge old read notifications nightly; one node per run
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 3 * * ?}")
+    public void purgeReadNotifications() {
+        if (!jobLeaseService.tryAcquire(NOTIFICATION_RETENTION_JOB)) {
+            return;
+        }
+        notificationRetentionService.purgeReadNotifications();
+    }
+
+    // Recompute readiness in the background so probe requests only read the cached result
+    @Scheduled(fixedDelayString = "${app.health.refresh-interval-ms:5000}")
+    public void refreshHealthProbes() {
+        healthProbeService.refresh();
+    }
+
+    // Keep this node's scheduler leases alive while long jobs run
+    @Scheduled(fixedDelayString = "${app.scheduler.lease.heartbeat-interval-ms:10000}")
+    public void renewSchedulerLeases() {
+        jobLeaseService.renewLeases();
     }
 }
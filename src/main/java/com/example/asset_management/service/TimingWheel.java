@@ -0,0 +1,137 @@
+package com.example.asset_management.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Three-level hierarchical timing wheel with one-minute ticks: 60 minute slots, 24 hour slots
+ * and 366 day slots. Timers are keyed so scheduling the same key again replaces it; schedule and
+ * cancel are O(1), and a timer is cascaded down at most twice before it fires. Deadlines more
+ * than a year out park in the furthest day slot and are re-placed when that slot cascades.
+ * Ticks are minutes since the epoch. Not thread-safe; callers synchronize.
+ */
+final class TimingWheel<K, V> {
+
+    private static final int MINUTE_SLOTS = 60;
+    private static final int HOUR_SLOTS = 24;
+    private static final int DAY_SLOTS = 366;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long MINUTES_PER_DAY = 1440;
+
+    private final List<Set<Timer<K, V>>> minutes = slots(MINUTE_SLOTS);
+    private final List<Set<Timer<K, V>>> hours = slots(HOUR_SLOTS);
+    private final List<Set<Timer<K, V>>> days = slots(DAY_SLOTS);
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+
+    private long currentTick;
+
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules (or reschedules) the timer for {@code key}. A deadline at or before the current
+     * tick fires on the next advance.
+     */
+    void schedule(K key, long deadlineTick, V value) {
+        cancel(key);
+        Timer<K, V> timer = new Timer<>(key, Math.max(deadlineTick, currentTick + 1), value);
+        timers.put(key, timer);
+        place(timer);
+    }
+
+    boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code targetTick}, cascading higher levels on hour and day
+     * boundaries, and returns the values of every timer that came due, in deadline order.
+     */
+    List<V> advanceTo(long targetTick) {
+        List<V> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (currentTick % MINUTES_PER_DAY == 0) {
+                cascade(days.get(slot(currentTick / MINUTES_PER_DAY, DAY_SLOTS)));
+            }
+            if (currentTick % MINUTES_PER_HOUR == 0) {
+                cascade(hours.get(slot(currentTick / MINUTES_PER_HOUR, HOUR_SLOTS)));
+            }
+
+            Set<Timer<K, V>> bucket = minutes.get(slot(currentTick, MINUTE_SLOTS));
+            for (Timer<K, V> timer : bucket) {
+                timers.remove(timer.key);
+                expired.add(timer.value);
+            }
+            bucket.clear();
+        }
+        return expired;
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void place(Timer<K, V> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        Set<Timer<K, V>> bucket;
+        if (delta < MINUTE_SLOTS) {
+            bucket = minutes.get(slot(timer.deadlineTick, MINUTE_SLOTS));
+        } else if (delta < MINUTES_PER_DAY) {
+            bucket = hours.get(slot(timer.deadlineTick / MINUTES_PER_HOUR, HOUR_SLOTS));
+        } else {
+            long day = Math.min(timer.deadlineTick / MINUTES_PER_DAY, currentTick / MINUTES_PER_DAY + DAY_SLOTS - 1);
+            bucket = days.get(slot(day, DAY_SLOTS));
+        }
+        timer.bucket = bucket;
+        bucket.add(timer);
+    }
+
+    // Re-places every timer in a higher-level slot now that its hour or day has started
+    private void cascade(Set<Timer<K, V>> bucket) {
+        List<Timer<K, V>> pending = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Timer<K, V> timer : pending) {
+            place(timer);
+        }
+    }
+
+    private static int slot(long index, int slots) {
+        return (int) Math.floorMod(index, (long) slots);
+    }
+
+    private static <K, V> List<Set<Timer<K, V>>> slots(int count) {
+        List<Set<Timer<K, V>>> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        return slots;
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final long deadlineTick;
+        private final V value;
+        private Set<Timer<K, V>> bucket;
+
+        private Timer(K key, long deadlineTick, V value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+}
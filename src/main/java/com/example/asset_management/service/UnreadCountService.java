@@ -0,0 +1,161 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Per-user unread notification counts held in memory. A counter is seeded from the database the
+ * first time a user asks for it; after that NotificationService adjusts it once each write
+ * commits and the new value is pushed to the user's /queue/notifications. Other nodes are told
+ * over the cache invalidation topic and recount their copy. Entries expire after a while so any
+ * drift from a racing seed corrects itself.
+ */
+@Slf4j
+@Service
+public class UnreadCountService {
+
+    public static final String CACHE_NAME = "unread-counts";
+
+    private final NotificationRepository notificationRepository;
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final KafkaEventService kafkaEventService;
+    private final Cache<Long, UnreadCounter> counters;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public UnreadCountService(NotificationRepository notificationRepository,
+                              WebSocketNotificationService webSocketNotificationService,
+                              KafkaEventService kafkaEventService,
+                              @Value("${app.notification.unread-counter.max-size:100000}") long maxSize,
+                              @Value("${app.notification.unread-counter.ttl-seconds:600}") long ttlSeconds) {
+        this.notificationRepository = notificationRepository;
+        this.webSocketNotificationService = webSocketNotificationService;
+        this.kafkaEventService = kafkaEventService;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the user's unread count, only querying the database when no counter is held yet.
+     */
+    public long getUnreadCount(Long userId, String username) {
+        return counters.get(userId, id -> new UnreadCounter(username,
+                new AtomicLong(notificationRepository.countUnreadByUserId(id)))).count().get();
+    }
+
+    public void increment(Long userId) {
+        afterCommit(userId, count -> count + 1);
+    }
+
+    /**
+     * Counts one new notification for each of many users, as a fan-out does: one after-commit
+     * callback bumps the counters this node holds and one invalidation tells the other nodes
+     * about the whole batch, which recount it with one query.
+     */
+    public void incrementAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(userIds);
+        runAfterCommit(() -> {
+            for (Long userId : ids) {
+                UnreadCounter counter = counters.getIfPresent(userId);
+                if (counter != null) {
+                    webSocketNotificationService.sendUnreadCount(counter.username(), counter.count().incrementAndGet());
+                }
+            }
+            kafkaEventService.publishCacheInvalidationEvent(CACHE_NAME, ids, nodeId);
+        });
+    }
+
+    public void decrement(Long userId) {
+        afterCommit(userId, count -> Math.max(0, count - 1));
+    }
+
+    public void reset(Long userId) {
+        afterCommit(userId, count -> 0);
+    }
+
+    /**
+     * Recounts a counter changed on another node and pushes the new value; users this node has
+     * no counter for are left to seed lazily.
+     */
+    public void refresh(Long userId) {
+        UnreadCounter counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            long count = notificationRepository.countUnreadByUserId(userId);
+            counter.count().set(count);
+            webSocketNotificationService.sendUnreadCountLocally(counter.username(), count);
+        }
+    }
+
+    /**
+     * Batched form of {@link #refresh(Long)}: recounts the held counters among {@code userIds}
+     * with a single grouped query.
+     */
+    public void refreshAll(Collection<Long> userIds) {
+        Map<Long, UnreadCounter> held = counters.getAllPresent(userIds);
+        if (held.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        notificationRepository.countUnreadByUserIds(held.keySet())
+                .forEach(row -> counts.put(row.getUserId(), row.getCount()));
+        held.forEach((userId, counter) -> {
+            long count = counts.getOrDefault(userId, 0L);
+            counter.count().set(count);
+            webSocketNotificationService.sendUnreadCountLocally(counter.username(), count);
+        });
+    }
+
+    public Cache<Long, UnreadCounter> getNativeCache() {
+        return counters;
+    }
+
+    private void afterCommit(Long userId, LongUnaryOperator change) {
+        runAfterCommit(() -> {
+            UnreadCounter counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                long count = counter.count().updateAndGet(change);
+                webSocketNotificationService.sendUnreadCount(counter.username(), count);
+            }
+            kafkaEventService.publishCacheInvalidationEvent(CACHE_NAME, userId, nodeId);
+        });
+    }
+
+    private void runAfterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    public record UnreadCounter(String username, AtomicLong count) {
+    }
+}
@@ -13,6 +13,7 @@ import com.example.asset_management.repository.AssetLoanRepository;
 import com.example.asset_management.repository.DepartmentRepository;
 import com.example.asset_management.repository.RoleRepository;
 import com.example.asset_management.repository.UserRepository;
+import com.example.asset_management.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +36,7 @@ public class UserService {
     private final AssetLoanRepository assetLoanRepository;
     private final RoleRepository roleRepository;
     private final DepartmentRepository departmentRepository;
+    private final CustomUserDetailsService userDetailsService;
 
     public List<UserResponse> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -75,6 +77,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        userDetailsService.invalidate(savedUser.getId());
         log.info("User created: {}", savedUser.getUsername());
         
         return mapToUserResponse(savedUser);
@@ -126,6 +129,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        userDetailsService.invalidate(savedUser.getId());
         log.info("User updated: {}", savedUser.getUsername());
         
         return mapToUserResponse(savedUser);
@@ -143,6 +147,7 @@ public class UserService {
         user.setIsActive(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsService.invalidate(user.getId());
         
         log.info("User deactivated: {}", user.getUsername());
     }
@@ -156,6 +161,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        userDetailsService.invalidate(savedUser.getId());
         log.info("User status updated: {} -> {}", savedUser.getUsername(), active);
         
         return mapToUserResponse(savedUser);
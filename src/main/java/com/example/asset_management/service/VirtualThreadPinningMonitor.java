@@ -0,0 +1,119 @@
+package com.example.asset_management.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, usually by blocking inside a
+ * synchronized block or a native frame. Listens to the JFR jdk.VirtualThreadPinned event in
+ * process while virtual threads are enabled, records every pin as app.virtual-threads.pinned and
+ * logs the stack of each distinct pinning site once, so a regression shows up without running
+ * the JVM with -Djdk.tracePinnedThreads.
+ */
+@Slf4j
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinnedTimer;
+
+    // Keyed by the top frames of the pinned stack
+    private final Map<String, AtomicLong> pinsBySite = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                       @Value("${app.virtual-threads.pinning.enabled:true}") boolean pinningEnabled,
+                                       @Value("${app.virtual-threads.pinning.threshold-ms:20}") long thresholdMs,
+                                       @Value("${app.virtual-threads.pinning.stack-depth:8}") int stackDepth) {
+        this.enabled = virtualThreads && pinningEnabled;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stackDepth = stackDepth;
+        this.pinnedTimer = Timer.builder("app.virtual-threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+        } catch (Exception e) {
+            // JFR can be unavailable on some runtimes; the application works the same without it
+            log.warn("Virtual thread pinning diagnostics unavailable: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("active", recordingStream != null);
+        statistics.put("thresholdMs", threshold.toMillis());
+        statistics.put("totalPinned", pinnedTimer.count());
+        statistics.put("totalPinnedMs", pinnedTimer.totalTime(TimeUnit.MILLISECONDS));
+        statistics.put("sites", pinsBySite.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get())));
+        return statistics;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        String site = describeSite(event);
+        AtomicLong count = pinsBySite.computeIfAbsent(site, key -> new AtomicLong());
+        if (count.getAndIncrement() == 0) {
+            log.warn("Virtual thread {} pinned for {} ms at:\n{}",
+                    event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                    event.getDuration().toMillis(), site);
+        }
+    }
+
+    private String describeSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(stackDepth)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -1,27 +1,90 @@
 package com.example.asset_management.service;
 
 import com.example.asset_management.dto.NotificationMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
 
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Pushes notifications to STOMP clients. The simple broker only reaches sessions on this node, so
+ * in distributed delivery mode every send goes out on the websocket.delivery topic and each node
+ * delivers it to the users connected to it (see WebSocketDeliveryConsumer). In local mode sends
+ * go straight to this node's broker, which is all a single node needs.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketNotificationService {
 
+    public static final String USER_QUEUE = "/queue/notifications";
+    public static final String BROADCAST_TOPIC = "/topic/notifications";
+    public static final String MANAGER_TOPIC = "/topic/manager-notifications";
+
+    private static final String UNREAD_COUNT_TYPE = "UNREAD_COUNT";
+
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final SimpUserRegistry simpUserRegistry;
+    private final KafkaEventService kafkaEventService;
+
+    // Identifies this node's delivery consumers, which need their own group to see every message
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.websocket.delivery-mode:local}")
+    private String deliveryMode;
 
     /**
      * Send notification to a specific user
      */
     public void sendNotificationToUser(String username, NotificationMessage notification) {
+        if (isDistributed()) {
+            kafkaEventService.publishWebSocketDelivery(USER_QUEUE, username, toMap(notification));
+        } else {
+            deliverToLocalUser(username, notification);
+        }
+    }
+
+    /**
+     * Send notification to all users (broadcast)
+     */
+    public void sendNotificationToAll(NotificationMessage notification) {
+        sendToTopic(BROADCAST_TOPIC, notification);
+    }
+
+    /**
+     * Send notification to managers only
+     */
+    public void sendNotificationToManagers(NotificationMessage notification) {
+        sendToTopic(MANAGER_TOPIC, notification);
+    }
+
+    /**
+     * Delivers to the user's sessions on this node, if there are any.
+     */
+    public void deliverToLocalUser(String username, NotificationMessage notification) {
+        if (!isConnectedLocally(username)) {
+            log.debug("User {} has no session on this node, skipping {}", username, notification.getType());
+            return;
+        }
         try {
-            String destination = "/user/" + username + "/queue/notifications";
-            messagingTemplate.convertAndSendToUser(username, "/queue/notifications", notification);
+            sendEncodedToUser(username, encode(notification));
             log.info("Sent notification to user {}: {}", username, notification.getMessage());
         } catch (Exception e) {
             log.error("Failed to send notification to user {}: {}", username, e.getMessage());
@@ -29,34 +92,115 @@ public class WebSocketNotificationService {
     }
 
     /**
-     * Send notification to all users (broadcast)
+     * Delivers an already encoded message to the user's sessions on this node, if there are any.
      */
-    public void sendNotificationToAll(NotificationMessage notification) {
+    public void deliverToLocalUser(String username, Message<byte[]> encoded) {
+        if (!isConnectedLocally(username)) {
+            return;
+        }
         try {
-            messagingTemplate.convertAndSend("/topic/notifications", notification);
-            log.info("Sent broadcast notification: {}", notification.getMessage());
+            sendEncodedToUser(username, encoded);
+            log.debug("Sent encoded notification to user {}", username);
         } catch (Exception e) {
-            log.error("Failed to send broadcast notification: {}", e.getMessage());
+            log.error("Failed to send notification to user {}: {}", username, e.getMessage());
         }
     }
 
     /**
-     * Send notification to managers only
+     * Delivers to this node's subscribers of a topic.
      */
-    public void sendNotificationToManagers(NotificationMessage notification) {
+    public void deliverToLocalTopic(String destination, NotificationMessage notification) {
+        try {
+            messagingTemplate.send(destination, encode(notification));
+            log.info("Sent notification to {}: {}", destination, notification.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to send notification to {}: {}", destination, e.getMessage());
+        }
+    }
+
+    /**
+     * Delivers an already encoded message to this node's subscribers of a topic.
+     */
+    public void deliverToLocalTopic(String destination, Message<byte[]> encoded) {
         try {
-            messagingTemplate.convertAndSend("/topic/manager-notifications", notification);
-            log.info("Sent manager notification: {}", notification.getMessage());
+            messagingTemplate.send(destination, encoded);
+            log.debug("Sent encoded notification to {}", destination);
         } catch (Exception e) {
-            log.error("Failed to send manager notification: {}", e.getMessage());
+            log.error("Failed to send notification to {}: {}", destination, e.getMessage());
         }
     }
 
+    /**
+     * Serializes a notification once into a JSON STOMP message that can be sent to any number of
+     * destinations. Messages of a type whose newest instance supersedes older ones, the unread
+     * count, carry the coalesce header so a lagging client may skip stale ones.
+     */
+    public Message<byte[]> encode(NotificationMessage notification) {
+        return encode(notification, notification.getType());
+    }
+
+    /**
+     * Encodes a notification that arrived as a map, such as a cluster delivery, without first
+     * binding it back to a NotificationMessage.
+     */
+    public Message<byte[]> encode(Map<String, Object> notification) {
+        Object type = notification.get("type");
+        return encode(notification, type != null ? type.toString() : null);
+    }
+
+    public boolean isConnectedLocally(String username) {
+        return username != null && simpUserRegistry.getUser(username) != null;
+    }
+
     /**
      * Send asset event notification
      */
     public void sendAssetEventNotification(String username, String eventType, String assetName, String message) {
-        NotificationMessage notification = NotificationMessage.builder()
+        sendNotificationToUser(username, buildAssetEventNotification(eventType, assetName, message));
+    }
+
+    /**
+     * Send loan status change notification
+     */
+    public void sendLoanStatusNotification(String username, String status, String assetName, String message) {
+        sendNotificationToUser(username, buildLoanStatusNotification(status, assetName, message));
+    }
+
+    /**
+     * Push the user's current unread notification count
+     */
+    public void sendUnreadCount(String username, long unreadCount) {
+        sendNotificationToUser(username, buildUnreadCountNotification(unreadCount));
+    }
+
+    /**
+     * Pushes an unread count to the user's sessions on this node only. In distributed mode the
+     * node that changed the count has already pushed it cluster-wide, so this does nothing.
+     */
+    public void sendUnreadCountLocally(String username, long unreadCount) {
+        if (!isDistributed()) {
+            deliverToLocalUser(username, buildUnreadCountNotification(unreadCount));
+        }
+    }
+
+    /**
+     * Send approval request notification to managers
+     */
+    public void sendApprovalRequestNotification(String requesterName, String assetName) {
+        sendNotificationToManagers(buildApprovalRequestNotification(requesterName, assetName));
+    }
+
+    private NotificationMessage buildUnreadCountNotification(long unreadCount) {
+        return NotificationMessage.builder()
+                .type(UNREAD_COUNT_TYPE)
+                .title("Unread notifications")
+                .message(unreadCount + " unread notifications")
+                .data(java.util.Map.of("unreadCount", unreadCount))
+                .build();
+    }
+
+    public NotificationMessage buildAssetEventNotification(String eventType, String assetName, String message) {
+        return NotificationMessage.builder()
                 .type("ASSET_EVENT")
                 .title(eventType)
                 .message(message)
@@ -66,15 +210,10 @@ public class WebSocketNotificationService {
                     "timestamp", java.time.LocalDateTime.now().toString()
                 ))
                 .build();
-        
-        sendNotificationToUser(username, notification);
     }
 
-    /**
-     * Send loan status change notification
-     */
-    public void sendLoanStatusNotification(String username, String status, String assetName, String message) {
-        NotificationMessage notification = NotificationMessage.builder()
+    public NotificationMessage buildLoanStatusNotification(String status, String assetName, String message) {
+        return NotificationMessage.builder()
                 .type("LOAN_STATUS")
                 .title("Loan " + status)
                 .message(message)
@@ -84,15 +223,10 @@ public class WebSocketNotificationService {
                     "timestamp", java.time.LocalDateTime.now().toString()
                 ))
                 .build();
-        
-        sendNotificationToUser(username, notification);
     }
 
-    /**
-     * Send approval request notification to managers
-     */
-    public void sendApprovalRequestNotification(String requesterName, String assetName) {
-        NotificationMessage notification = NotificationMessage.builder()
+    public NotificationMessage buildApprovalRequestNotification(String requesterName, String assetName) {
+        return NotificationMessage.builder()
                 .type("APPROVAL_REQUEST")
                 .title("New Approval Request")
                 .message(requesterName + " has requested approval for " + assetName)
@@ -102,7 +236,45 @@ public class WebSocketNotificationService {
                     "timestamp", java.time.LocalDateTime.now().toString()
                 ))
                 .build();
-        
-        sendNotificationToManagers(notification);
+    }
+
+    private void sendToTopic(String destination, NotificationMessage notification) {
+        if (isDistributed()) {
+            kafkaEventService.publishWebSocketDelivery(destination, null, toMap(notification));
+        } else {
+            deliverToLocalTopic(destination, notification);
+        }
+    }
+
+    private Message<byte[]> encode(Object notification, String type) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(notification);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize notification: " + e.getMessage(), e);
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (UNREAD_COUNT_TYPE.equals(type)) {
+            // Only the latest count matters, so a slow client may skip queued ones
+            accessor.setNativeHeader(WebSocketOutboundMonitor.COALESCE_HEADER, UNREAD_COUNT_TYPE);
+        }
+        // Left immutable: the template copies the headers for each destination and shares the payload
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    // Same destination convertAndSendToUser builds, without converting the payload again
+    private void sendEncodedToUser(String username, Message<byte[]> encoded) {
+        messagingTemplate.send(messagingTemplate.getUserDestinationPrefix()
+                + StringUtils.replace(username, "/", "%2F") + USER_QUEUE, encoded);
+    }
+
+    private boolean isDistributed() {
+        return "distributed".equalsIgnoreCase(deliveryMode);
+    }
+
+    private Map<String, Object> toMap(NotificationMessage notification) {
+        return objectMapper.convertValue(notification, new TypeReference<Map<String, Object>>() {});
     }
 }
@@ -0,0 +1,225 @@
+package com.example.asset_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interceptor on the client outbound channel that keeps one slow client from holding up
+ * everyone else's pushes. It tracks how many messages each session has waiting on the outbound
+ * executor and how long they waited, and sheds non-critical messages when a session falls behind:
+ * <ul>
+ *   <li>coalesce: of several queued messages carrying the same {@link #COALESCE_HEADER} value
+ *   for a session, only the newest is sent (used for unread counts)</li>
+ *   <li>drop-oldest: a queued non-critical message is dropped when it has waited longer than
+ *   the lag limit or its session has more than the allowed number of messages pending</li>
+ * </ul>
+ * Non-critical means a broadcast destination, by default /topic/**. Direct user notifications and
+ * the newest coalesced message are always delivered; a session that still cannot keep up is
+ * closed by the transport's send buffer and time limits.
+ */
+@Slf4j
+@Service
+public class WebSocketOutboundMonitor implements ExecutorChannelInterceptor {
+
+    public static final String COALESCE_HEADER = "coalesce-key";
+
+    private static final String ENQUEUED_AT_HEADER = "outboundEnqueuedAt";
+    private static final String SEQUENCE_HEADER = "outboundSequence";
+    private static final int TOP_SESSIONS = 20;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> nonCriticalDestinations;
+    private final long maxLagNanos;
+    private final int maxPendingPerSession;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong droppedStale = new AtomicLong();
+    private final AtomicLong droppedCoalesced = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public WebSocketOutboundMonitor(
+            @Value("${app.websocket.outbound.non-critical-destinations:/topic/**}") List<String> nonCriticalDestinations,
+            @Value("${app.websocket.outbound.max-lag-ms:5000}") long maxLagMs,
+            @Value("${app.websocket.outbound.max-pending-per-session:100}") int maxPendingPerSession) {
+        this.nonCriticalDestinations = nonCriticalDestinations;
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMs);
+        this.maxPendingPerSession = maxPendingPerSession;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new SessionState());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SessionState session = sessionOf(message);
+        if (session == null) {
+            return message;
+        }
+
+        long seq = sequence.incrementAndGet();
+        String coalesceKey = NativeMessageHeaderAccessor.getFirstNativeHeader(COALESCE_HEADER, message.getHeaders());
+        if (coalesceKey != null) {
+            session.latestByKey.put(coalesceKey, seq);
+        }
+        session.pending.incrementAndGet();
+        queueDepth.incrementAndGet();
+
+        MessageHeaderAccessor accessor = MessageHeaderAccessor.getMutableAccessor(message);
+        accessor.setHeader(ENQUEUED_AT_HEADER, System.nanoTime());
+        accessor.setHeader(SEQUENCE_HEADER, seq);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // The executor refused the task (queue full), so it will never reach beforeHandle
+        if (ex != null && message.getHeaders().containsKey(SEQUENCE_HEADER)) {
+            SessionState session = sessionOf(message);
+            if (session != null) {
+                session.pending.decrementAndGet();
+                session.dropped.incrementAndGet();
+            }
+            queueDepth.decrementAndGet();
+            rejected.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Long enqueuedAt = message.getHeaders().get(ENQUEUED_AT_HEADER, Long.class);
+        if (enqueuedAt == null) {
+            return message;
+        }
+        queueDepth.decrementAndGet();
+
+        SessionState session = sessionOf(message);
+        if (session == null) {
+            // Disconnected while queued; the transport will discard it anyway
+            return null;
+        }
+        int pendingBefore = session.pending.getAndDecrement();
+        long lagNanos = System.nanoTime() - enqueuedAt;
+        long lagMs = TimeUnit.NANOSECONDS.toMillis(lagNanos);
+        session.lastLagMs = lagMs;
+        session.maxLagMs = Math.max(session.maxLagMs, lagMs);
+
+        String coalesceKey = NativeMessageHeaderAccessor.getFirstNativeHeader(COALESCE_HEADER, message.getHeaders());
+        if (coalesceKey != null) {
+            Long latest = session.latestByKey.get(coalesceKey);
+            if (latest != null && latest > message.getHeaders().get(SEQUENCE_HEADER, Long.class)) {
+                session.dropped.incrementAndGet();
+                droppedCoalesced.incrementAndGet();
+                return null;
+            }
+        }
+
+        if (isNonCritical(message) && (lagNanos > maxLagNanos || pendingBefore > maxPendingPerSession)) {
+            session.dropped.incrementAndGet();
+            droppedStale.incrementAndGet();
+            log.debug("Dropped stale outbound message for session {} after {} ms with {} pending",
+                    SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), lagMs, pendingBefore);
+            return null;
+        }
+
+        sent.incrementAndGet();
+        return message;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("sessions", sessions.size());
+        statistics.put("queueDepth", queueDepth.get());
+        statistics.put("sent", sent.get());
+        statistics.put("droppedStale", droppedStale.get());
+        statistics.put("droppedCoalesced", droppedCoalesced.get());
+        statistics.put("rejected", rejected.get());
+        statistics.put("maxLagMs", TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+        statistics.put("maxPendingPerSession", maxPendingPerSession);
+        statistics.put("laggingSessions", sessions.entrySet().stream()
+                .filter(entry -> entry.getValue().pending.get() > 0 || entry.getValue().dropped.get() > 0)
+                .sorted(Comparator.comparingInt((Map.Entry<String, SessionState> entry) -> entry.getValue().pending.get())
+                        .reversed())
+                .limit(TOP_SESSIONS)
+                .map(entry -> Map.of(
+                        "sessionId", entry.getKey(),
+                        "pending", entry.getValue().pending.get(),
+                        "lastLagMs", entry.getValue().lastLagMs,
+                        "maxLagMs", entry.getValue().maxLagMs,
+                        "dropped", entry.getValue().dropped.get()))
+                .toList());
+        return statistics;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedStale.get() + droppedCoalesced.get() + rejected.get();
+    }
+
+    private SessionState sessionOf(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    private boolean isNonCritical(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return false;
+        }
+        for (String pattern : nonCriticalDestinations) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class SessionState {
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Map<String, Long> latestByKey = new ConcurrentHashMap<>();
+        private volatile long lastLagMs;
+        private volatile long maxLagMs;
+    }
+}
@@ -0,0 +1,6 @@
+-- Notification inbox paging and retention
+-- The inbox walks a user's rows newest first by (created_at, id); the retention job finds
+-- old read rows by (is_read, created_at)
+
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at, id);
+CREATE INDEX idx_notifications_read_created ON notifications(is_read, created_at);
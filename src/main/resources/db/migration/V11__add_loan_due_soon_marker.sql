@@ -0,0 +1,5 @@
+-- Due soon reminder marker
+-- due_soon_sent_at records when the AssetDueSoon reminder was queued, so the due date timers can
+-- fire late reminders immediately without announcing a loan twice after a reseed or failover
+
+ALTER TABLE asset_loans ADD COLUMN due_soon_sent_at TIMESTAMP NULL;
@@ -0,0 +1,23 @@
+-- Asset import jobs
+-- Progress of background CSV imports, updated once per chunk by the node running the import so the
+-- status can be polled through any node. errors holds the first app.import.max-errors messages as
+-- a JSON array. Rows are purged after app.import.job-retention-hours.
+
+CREATE TABLE asset_import_jobs (
+    job_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    file_name VARCHAR(255) NULL,
+    requested_by VARCHAR(100) NOT NULL,
+    node_id VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    imported_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    errors MEDIUMTEXT NULL,
+    failure_reason TEXT NULL,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_asset_import_jobs_created_at ON asset_import_jobs(created_at);
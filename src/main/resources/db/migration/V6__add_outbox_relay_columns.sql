@@ -0,0 +1,7 @@
+-- Outbox relay support
+-- next_attempt_at holds the backoff schedule for rows that failed to publish;
+-- the composite index serves the relay's claim query (unsent rows due for an attempt, oldest first)
+
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP NULL;
+
+CREATE INDEX idx_outbox_events_relay ON outbox_events(sent_at, next_attempt_at, id);
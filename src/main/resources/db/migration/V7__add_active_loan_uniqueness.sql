@@ -0,0 +1,22 @@
+-- Active loan uniqueness
+-- active_asset_id mirrors asset_id while a loan is open (pending, loaned or overdue) and is NULL
+-- once it is closed, so the unique index allows at most one open loan per asset
+
+-- Pre-migration check: databases that ran without this index can already hold two open loans for
+-- one asset. Those must be closed by hand first; this lists them and must return no rows:
+--   SELECT asset_id, COUNT(*) FROM asset_loans
+--   WHERE status IN ('pending_approval', 'loaned', 'overdue')
+--   GROUP BY asset_id HAVING COUNT(*) > 1;
+-- The guard below fails on the first such asset ("Duplicate entry '<asset_id>' for key
+-- 'v7_assets_with_several_open_loans.PRIMARY'") before any DDL runs, so the migration can simply
+-- be retried once they are resolved instead of leaving the column added without its index.
+CREATE TEMPORARY TABLE v7_assets_with_several_open_loans (asset_id BIGINT PRIMARY KEY);
+INSERT INTO v7_assets_with_several_open_loans (asset_id)
+    SELECT asset_id FROM asset_loans WHERE status IN ('pending_approval', 'loaned', 'overdue');
+DROP TEMPORARY TABLE v7_assets_with_several_open_loans;
+
+ALTER TABLE asset_loans
+    ADD COLUMN active_asset_id BIGINT
+        AS (CASE WHEN status IN ('pending_approval', 'loaned', 'overdue') THEN asset_id END) STORED;
+
+CREATE UNIQUE INDEX uk_asset_loans_active_asset ON asset_loans(active_asset_id);
@@ -0,0 +1,4 @@
+-- Due date sweep support
+-- Serves the sweep's keyset reads: loaned rows in a due_at range, walked in (due_at, id) order
+
+CREATE INDEX idx_asset_loans_status_due ON asset_loans(status, due_at, id);
@@ -0,0 +1,17 @@
+-- Scheduler leases
+-- One row per (job, partition). A node owns a row while lease_until is in the future and renews it
+-- by heartbeat; last_run_key marks a partition of a periodic job as done for that run.
+-- Single-node jobs use partition 0 only.
+
+CREATE TABLE scheduler_leases (
+    job_name VARCHAR(100) NOT NULL,
+    partition_no INT NOT NULL,
+    owner_id VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL,
+    last_run_key VARCHAR(64) NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_name, partition_no)
+);
+
+-- Lets the due date timer leader pick up loans approved on other nodes
+CREATE INDEX idx_asset_loans_approved_at ON asset_loans(approved_at);
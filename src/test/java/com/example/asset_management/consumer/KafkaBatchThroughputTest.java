@@ -0,0 +1,158 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.config.KafkaConsumerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Consumes the same records from an embedded broker through the two container factories in
+ * {@link KafkaConsumerConfig}: the per-record one (10 records per poll, an offset commit per
+ * record) and the batch one (500 records per poll spread over key-ordered lanes, one commit per
+ * batch), with their shipped poll sizes, concurrency and ack mode. The handler sleeps briefly to
+ * stand in for the e-mail, push and WebSocket I/O the real consumers do.
+ */
+@Slf4j
+@EmbeddedKafka(partitions = 3, topics = {KafkaBatchThroughputTest.RECORD_TOPIC, KafkaBatchThroughputTest.BATCH_TOPIC})
+class KafkaBatchThroughputTest {
+
+    static final String RECORD_TOPIC = "throughput.record-mode";
+    static final String BATCH_TOPIC = "throughput.batch-mode";
+
+    private static final int RECORDS = 2000;
+    private static final int KEYS = 200;
+    private static final long HANDLER_MILLIS = 1;
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(8);
+    private final Map<String, List<Integer>> sequencesByKey = new ConcurrentHashMap<>();
+    private KafkaConsumerConfig consumerConfig;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void batchModeOutpacesPerRecordModeAndKeepsKeyOrder(EmbeddedKafkaBroker broker) throws Exception {
+        consumerConfig = consumerConfig(broker);
+        produce(broker, RECORD_TOPIC);
+        produce(broker, BATCH_TOPIC);
+
+        long recordModeMs = consumePerRecord();
+        sequencesByKey.clear();
+        long batchModeMs = consumeInBatches();
+
+        log.info("{} records: per-record mode {} ms, batch mode {} ms", RECORDS, recordModeMs, batchModeMs);
+
+        assertThat(batchModeMs).isLessThan(recordModeMs);
+        assertThat(sequencesByKey).hasSize(KEYS);
+        sequencesByKey.values().forEach(sequences -> assertThat(sequences).isSorted());
+    }
+
+    private long consumePerRecord() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(RECORDS);
+        AtomicLong firstRecordAt = new AtomicLong();
+
+        ConcurrentMessageListenerContainer<String, String> container =
+                consumerConfig.kafkaListenerContainerFactory().createContainer(RECORD_TOPIC);
+        container.setupMessageListener((AcknowledgingMessageListener<String, String>) (record, acknowledgment) -> {
+            firstRecordAt.compareAndSet(0, System.nanoTime());
+            handle(record);
+            acknowledgment.acknowledge();
+            done.countDown();
+        });
+
+        return run(container, "throughput-record-mode", done, firstRecordAt);
+    }
+
+    private long consumeInBatches() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(RECORDS);
+        AtomicLong firstRecordAt = new AtomicLong();
+
+        ConcurrentMessageListenerContainer<String, String> container =
+                consumerConfig.batchKafkaListenerContainerFactory().createContainer(BATCH_TOPIC);
+        container.setupMessageListener((BatchAcknowledgingMessageListener<String, String>) (records, acknowledgment) -> {
+            firstRecordAt.compareAndSet(0, System.nanoTime());
+            dispatcher.dispatch(records, this::handle);
+            acknowledgment.acknowledge();
+            records.forEach(record -> done.countDown());
+        });
+
+        return run(container, "throughput-batch-mode", done, firstRecordAt);
+    }
+
+    // Times from the first delivered record, so partition assignment is not part of the measurement
+    private long run(ConcurrentMessageListenerContainer<String, String> container, String groupId,
+                     CountDownLatch done, AtomicLong firstRecordAt) throws InterruptedException {
+        container.getContainerProperties().setGroupId(groupId);
+        container.start();
+        try {
+            assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstRecordAt.get());
+        } finally {
+            container.stop();
+        }
+    }
+
+    /**
+     * The shipped consumer configuration with its defaults, pointed at the embedded broker.
+     */
+    private static KafkaConsumerConfig consumerConfig(EmbeddedKafkaBroker broker) {
+        KafkaConsumerConfig config = new KafkaConsumerConfig(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(config, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(config, "maxPollRecords", 10);
+        ReflectionTestUtils.setField(config, "concurrency", 3);
+        ReflectionTestUtils.setField(config, "batchMaxPollRecords", 500);
+        ReflectionTestUtils.setField(config, "batchConcurrency", 3);
+        return config;
+    }
+
+    private void handle(ConsumerRecord<String, String> record) {
+        try {
+            Thread.sleep(HANDLER_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        sequencesByKey.computeIfAbsent(record.key(), key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(Integer.parseInt(record.value()));
+    }
+
+    private static void produce(EmbeddedKafkaBroker broker, String topic) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(props)) {
+            for (int i = 0; i < RECORDS; i++) {
+                // The value is the record's sequence number within its key
+                producer.send(new ProducerRecord<>(topic, "ASSET_LOAN-" + (i % KEYS), String.valueOf(i / KEYS)));
+            }
+            producer.flush();
+        }
+    }
+}
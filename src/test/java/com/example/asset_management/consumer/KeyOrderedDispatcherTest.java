@@ -0,0 +1,77 @@
+package com.example.asset_management.consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyOrderedDispatcherTest {
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(4);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void keepsRecordOrderPerKey() {
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        for (int offset = 0; offset < 400; offset++) {
+            records.add(record(offset, "ASSET_LOAN-" + (offset % 10)));
+        }
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+
+        dispatcher.dispatch(records, record -> handled
+                .computeIfAbsent(record.key(), key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(record.offset()));
+
+        assertThat(handled).hasSize(10);
+        handled.values().forEach(offsets -> assertThat(offsets).hasSize(40).isSorted());
+    }
+
+    @Test
+    void redeliveryAfterFailureSkipsRecordsThatAlreadyCompleted() {
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record(0, "ASSET_LOAN-1"),
+                record(1, "ASSET_LOAN-2"),
+                record(2, "ASSET_LOAN-3"),
+                record(3, "ASSET_LOAN-2"),
+                record(4, "ASSET_LOAN-4"));
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+
+        assertThatThrownBy(() -> dispatcher.dispatch(batch, record -> {
+            if (record.offset() == 1 && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("transient failure");
+            }
+            handled.add(record.offset());
+        }))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .extracting(e -> ((BatchListenerFailedException) e).getIndex())
+                .isEqualTo(1);
+
+        // Offset 3 shares the failed key, so it was held back; 2 and 4 ran on other lanes
+        assertThat(handled).containsExactlyInAnyOrder(0L, 2L, 4L);
+
+        // The container redelivers from the failed record onwards
+        handled.clear();
+        dispatcher.dispatch(batch.subList(1, batch.size()), record -> handled.add(record.offset()));
+
+        assertThat(handled).containsExactly(1L, 3L);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key) {
+        return new ConsumerRecord<>("assets.events", 0, offset, key, "{}");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.dto.KafkaEventPayload;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoanEventRouterTest {
+
+    private static final LocalDateTime DUE_AT = LocalDateTime.of(2026, 11, 2, 17, 0);
+
+    @Test
+    void realtimeTakesLoanEventsThatUpdateTheUi() {
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", loanEvent("AssetAssigned"))).isTrue();
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", loanEvent("AssetReturned"))).isTrue();
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", loanEvent("AssetRejected"))).isTrue();
+    }
+
+    @Test
+    void realtimeSkipsOtherEventsOnTheCanonicalTopic() {
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", loanEvent("AssetDueSoon"))).isFalse();
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", loanEvent("AssetOverdue"))).isFalse();
+        assertThat(LoanEventRouter.routesToRealtime("assets.events", event("AssetAssigned", "ASSET", Map.of()))).isFalse();
+    }
+
+    @Test
+    void realtimeTakesEverythingLeftOnTheLegacyTopic() {
+        assertThat(LoanEventRouter.routesToRealtime("realtime.updates", loanEvent("AssetDueSoon"))).isTrue();
+        assertThat(LoanEventRouter.routesToRealtime("realtime.updates", event("AssetCreated", "ASSET", Map.of()))).isTrue();
+    }
+
+    @Test
+    void notificationIsDerivedFromALoanEventWithRecipientAndAsset() {
+        KafkaEventPayload event = loanEvent("AssetAssigned");
+
+        Optional<KafkaEventPayload> notification = LoanEventRouter.toNotificationRequest(event);
+
+        assertThat(notification).isPresent();
+        KafkaEventPayload request = notification.get();
+        assertThat(request.getEventType()).isEqualTo("NotificationRequest");
+        assertThat(request.getAggregateType()).isEqualTo("NOTIFICATION");
+        assertThat(request.getAggregateId()).isEqualTo(event.getAggregateId());
+        assertThat(request.getEventId()).isEqualTo("outbox-7-notification");
+        assertThat(request.getData())
+                .containsEntry("recipientEmail", "jane.doe@example.com")
+                .containsEntry("recipientName", "Jane Doe")
+                .containsEntry("assetName", "Laptop")
+                .containsEntry("assetTag", "LAP-001")
+                .containsEntry("dueAt", DUE_AT)
+                .containsEntry("eventType", "AssetAssigned");
+    }
+
+    @Test
+    void legacyNotificationRequestPassesThroughUnchanged() {
+        KafkaEventPayload legacy = event("NotificationRequest", "NOTIFICATION", Map.of("recipientEmail", "jane.doe@example.com"));
+
+        assertThat(LoanEventRouter.toNotificationRequest(legacy)).containsSame(legacy);
+    }
+
+    @Test
+    void noNotificationWithoutARecipientOrAsset() {
+        KafkaEventPayload withoutRecipient = loanEvent("AssetAssigned");
+        withoutRecipient.getData().remove("recipientEmail");
+        KafkaEventPayload withoutAsset = loanEvent("AssetAssigned");
+        withoutAsset.getData().remove("assetName");
+        withoutAsset.getData().remove("assetTag");
+        KafkaEventPayload withoutData = loanEvent("AssetAssigned");
+        withoutData.setData(null);
+
+        assertThat(LoanEventRouter.toNotificationRequest(withoutRecipient)).isEmpty();
+        assertThat(LoanEventRouter.toNotificationRequest(withoutAsset)).isEmpty();
+        assertThat(LoanEventRouter.toNotificationRequest(withoutData)).isEmpty();
+    }
+
+    @Test
+    void noNotificationForNonLoanEvents() {
+        KafkaEventPayload assetEvent = event("AssetCreated", "ASSET",
+                Map.of("recipientEmail", "jane.doe@example.com", "assetName", "Laptop"));
+
+        assertThat(LoanEventRouter.toNotificationRequest(assetEvent)).isEmpty();
+    }
+
+    private static KafkaEventPayload loanEvent(String eventType) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("loanId", 7L);
+        data.put("username", "jane.doe");
+        data.put("recipientEmail", "jane.doe@example.com");
+        data.put("recipientName", "Jane Doe");
+        data.put("assetName", "Laptop");
+        data.put("assetTag", "LAP-001");
+        data.put("dueAt", DUE_AT);
+        return event(eventType, "ASSET_LOAN", data);
+    }
+
+    private static KafkaEventPayload event(String eventType, String aggregateType, Map<String, Object> data) {
+        KafkaEventPayload event = new KafkaEventPayload();
+        event.setEventId("outbox-7");
+        event.setEventType(eventType);
+        event.setTimestamp(LocalDateTime.of(2026, 10, 26, 9, 30));
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(7L);
+        event.setData(new HashMap<>(data));
+        event.setSource("asset-management-service");
+        event.setVersion(KafkaEventPayload.CURRENT_VERSION);
+        return event;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.asset_management.consumer;
+
+import com.example.asset_management.AssetManagementApplication;
+import com.example.asset_management.dto.NotificationMessage;
+import com.example.asset_management.model.Role;
+import com.example.asset_management.model.User;
+import com.example.asset_management.repository.RoleRepository;
+import com.example.asset_management.repository.UserRepository;
+import com.example.asset_management.security.JwtTokenProvider;
+import com.example.asset_management.service.WebSocketNotificationService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots two nodes in distributed delivery mode against one embedded broker. A push sent on node A
+ * must travel over websocket.delivery and reach the STOMP session the user holds on node B.
+ */
+@EmbeddedKafka(partitions = 1, topics = "websocket.delivery")
+class WebSocketDeliveryClusterTest {
+
+    private static final String USERNAME = "cluster.user";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void pushSentOnOneNodeReachesSessionOnAnother(EmbeddedKafkaBroker broker) throws Exception {
+        try (ConfigurableApplicationContext nodeA = startNode(broker, "node-a");
+             ConfigurableApplicationContext nodeB = startNode(broker, "node-b")) {
+
+            ContainerTestUtils.waitForAssignment(
+                    nodeB.getBean(KafkaListenerEndpointRegistry.class).getListenerContainer("websocket-delivery"), 1);
+
+            BlockingQueue<byte[]> received = new LinkedBlockingQueue<>();
+            StompSession session = connect(nodeB, seedUserToken(nodeB), received);
+            SimpUserRegistry nodeBUsers = nodeB.getBean(SimpUserRegistry.class);
+            waitUntil(() -> isSubscribed(nodeBUsers.getUser(USERNAME)));
+
+            WebSocketNotificationService nodeAService = nodeA.getBean(WebSocketNotificationService.class);
+            assertThat(nodeAService.isConnectedLocally(USERNAME)).isFalse();
+            nodeAService.sendNotificationToUser(USERNAME, NotificationMessage.builder()
+                    .type("ASSET_EVENT")
+                    .title("Cluster delivery")
+                    .message("Sent from node A")
+                    .severity("info")
+                    .build());
+
+            byte[] payload = received.poll(30, TimeUnit.SECONDS);
+            assertThat(payload).as("push delivered to the session on node B").isNotNull();
+            Map<String, Object> notification = objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {});
+            assertThat(notification)
+                    .containsEntry("type", "ASSET_EVENT")
+                    .containsEntry("message", "Sent from node A");
+
+            session.disconnect();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(EmbeddedKafkaBroker broker, String node) {
+        return new SpringApplicationBuilder(AssetManagementApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "spring.datasource.url=jdbc:h2:mem:" + node + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "app.websocket.delivery-mode=distributed",
+                        // Keep the background jobs quiet; only the delivery path is under test
+                        "app.outbox.poll-interval-ms=3600000",
+                        "app.due-dates.timing-wheel.enabled=false")
+                .logStartupInfo(false)
+                .run();
+    }
+
+    private static String seedUserToken(ConfigurableApplicationContext node) {
+        Role role = new Role();
+        role.setName("EMPLOYEE");
+        role.setCreatedAt(LocalDateTime.now());
+        role = node.getBean(RoleRepository.class).save(role);
+
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setEmail(USERNAME + "@example.com");
+        user.setFirstName("Cluster");
+        user.setLastName("User");
+        user.setPasswordHash("{noop}unused");
+        user.setRoleId(role.getId());
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        node.getBean(UserRepository.class).save(user);
+
+        return node.getBean(JwtTokenProvider.class).generateTokenFromUsername(USERNAME);
+    }
+
+    // The handshake is authenticated by the JWT filter, which makes the user the session principal
+    private static StompSession connect(ConfigurableApplicationContext node, String token, BlockingQueue<byte[]> received)
+            throws Exception {
+        int port = Integer.parseInt(node.getEnvironment().getProperty("local.server.port"));
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Authorization", "Bearer " + token);
+
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        StompSession session = client.connectAsync("ws://localhost:{port}/ws/websocket", headers,
+                new StompSessionHandlerAdapter() { }, port).get(10, TimeUnit.SECONDS);
+        session.subscribe("/user" + WebSocketNotificationService.USER_QUEUE, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((byte[]) payload);
+            }
+        });
+        return session;
+    }
+
+    private static boolean isSubscribed(SimpUser user) {
+        return user != null && user.getSessions().stream().anyMatch(session -> !session.getSubscriptions().isEmpty());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 10 seconds").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
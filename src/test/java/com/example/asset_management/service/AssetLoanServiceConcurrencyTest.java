@@ -0,0 +1,191 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.dto.AssetAssignmentRequest;
+import com.example.asset_management.exception.AssetConflictException;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.Asset.AssetStatus;
+import com.example.asset_management.model.AssetLoan;
+import com.example.asset_management.model.AssetLoan.LoanStatus;
+import com.example.asset_management.model.User;
+import com.example.asset_management.repository.AssetLoanRepository;
+import com.example.asset_management.repository.AssetRepository;
+import com.example.asset_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires hundreds of parallel checkouts at one asset. For direct loans the conditional UPDATE in
+ * claimAsset, and for pending requests the one-open-loan-per-asset unique index, must let exactly
+ * one through and turn every other attempt into an {@link AssetConflictException}, without the
+ * losers slowing each other down. Runs outside a test transaction so each checkout commits on its
+ * own connection.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(AssetLoanService.class)
+class AssetLoanServiceConcurrencyTest {
+
+    private static final int CHECKOUTS = 300;
+    private static final int THREADS = 32;
+
+    // Losers fail fast on the claim or the unique index instead of queueing on a lock, so the
+    // average stays far below this even on a slow build machine
+    private static final double MAX_MILLIS_PER_CHECKOUT = 100;
+
+    @Autowired
+    private AssetLoanService assetLoanService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetLoanRepository assetLoanRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private EventService eventService;
+
+    @MockBean
+    private DueDateTimerService dueDateTimerService;
+
+    @AfterEach
+    void cleanUp() {
+        assetLoanRepository.deleteAll();
+        assetRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exactlyOneOfManyParallelCheckoutsWins() throws Exception {
+        Asset asset = saveAvailableAsset();
+
+        // Within the approval threshold, so each attempt claims the asset directly
+        Outcome outcome = checkOutInParallel(asset, LocalDateTime.now().plusDays(3));
+
+        assertThat(outcome.winners()).isEqualTo(1);
+        assertThat(outcome.conflicts()).isEqualTo(CHECKOUTS - 1);
+        assertThat(outcome.millisPerCheckout()).isLessThan(MAX_MILLIS_PER_CHECKOUT);
+        assertThat(assetLoanRepository.count()).isEqualTo(1);
+        assertThat(assetLoanRepository.findAll()).extracting(AssetLoan::getStatus).containsExactly(LoanStatus.loaned);
+        assertThat(assetRepository.findById(asset.getId()))
+                .get()
+                .extracting(Asset::getStatus)
+                .isEqualTo(AssetStatus.loaned);
+    }
+
+    @Test
+    void exactlyOneOfManyParallelPendingRequestsIsRecorded() throws Exception {
+        Asset asset = saveAvailableAsset();
+
+        // Beyond the approval threshold: nothing claims the asset, the open-loan unique index decides
+        Outcome outcome = checkOutInParallel(asset, LocalDateTime.now().plusDays(30));
+
+        assertThat(outcome.winners()).isEqualTo(1);
+        assertThat(outcome.conflicts()).isEqualTo(CHECKOUTS - 1);
+        assertThat(outcome.millisPerCheckout()).isLessThan(MAX_MILLIS_PER_CHECKOUT);
+        assertThat(assetLoanRepository.findAll())
+                .extracting(AssetLoan::getStatus)
+                .containsExactly(LoanStatus.pending_approval);
+        assertThat(assetRepository.findById(asset.getId()))
+                .get()
+                .extracting(Asset::getStatus)
+                .isEqualTo(AssetStatus.available);
+    }
+
+    /**
+     * Releases one checkout per user at once against the same asset and sorts the results into
+     * successes and conflicts; any other failure fails the test.
+     */
+    private Outcome checkOutInParallel(Asset asset, LocalDateTime dueAt) throws Exception {
+        List<String> usernames = saveUsers();
+
+        AssetAssignmentRequest request = new AssetAssignmentRequest();
+        request.setAssetId(asset.getId());
+        request.setDueAt(dueAt);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> checkouts = new ArrayList<>(CHECKOUTS);
+        for (String username : usernames) {
+            checkouts.add(pool.submit(() -> {
+                startGate.await();
+                return assetLoanService.assignAsset(request, username);
+            }));
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        int winners = 0;
+        int conflicts = 0;
+        try {
+            for (Future<?> checkout : checkouts) {
+                try {
+                    checkout.get(1, TimeUnit.MINUTES);
+                    winners++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(AssetConflictException.class);
+                    conflicts++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Outcome(winners, conflicts, (double) elapsedMs / CHECKOUTS);
+    }
+
+    private Asset saveAvailableAsset() {
+        Asset asset = new Asset();
+        asset.setAssetTag("HOT-0001");
+        asset.setName("Contended asset");
+        asset.setStatus(AssetStatus.available);
+        asset.setCreatedAt(LocalDateTime.now());
+        return assetRepository.save(asset);
+    }
+
+    private List<String> saveUsers() {
+        List<User> users = new ArrayList<>(CHECKOUTS);
+        for (int i = 0; i < CHECKOUTS; i++) {
+            User user = new User();
+            user.setUsername("claimant." + i);
+            user.setEmail("claimant." + i + "@example.com");
+            user.setFirstName("Claimant");
+            user.setLastName(String.valueOf(i));
+            user.setPasswordHash("{noop}unused");
+            user.setIsActive(true);
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getUsername).toList();
+    }
+
+    private record Outcome(int winners, int conflicts, double millisPerCheckout) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.config.HibernateStatementCounter;
+import com.example.asset_management.dto.AssetLoanResponse;
+import com.example.asset_management.model.Asset;
+import com.example.asset_management.model.Asset.AssetStatus;
+import com.example.asset_management.model.AssetLoan;
+import com.example.asset_management.model.AssetLoan.LoanStatus;
+import com.example.asset_management.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Loan list endpoints resolve assets and users with one query per table, so the number of SQL
+ * statements does not grow with the number of loans returned.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AssetLoanService.class)
+class AssetLoanServiceQueryCountTest {
+
+    // Borrower lookup, loan query, one findAllById each for assets and users
+    private static final int EXPECTED_STATEMENTS = 4;
+
+    @Autowired
+    private AssetLoanService assetLoanService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private EventService eventService;
+
+    @MockBean
+    private DueDateTimerService dueDateTimerService;
+
+    @Test
+    void myLoansRunConstantStatementsRegardlessOfLoanCount() {
+        User assigner = persistUser("assigner", null);
+        User fewLoans = persistUser("few.loans", null);
+        User manyLoans = persistUser("many.loans", null);
+        persistLoans(fewLoans, assigner, 2, "FEW");
+        persistLoans(manyLoans, assigner, 50, "MANY");
+        entityManager.flush();
+        entityManager.clear();
+
+        int fewStatements = countStatements(() -> assertThat(assetLoanService.getMyLoans("few.loans")).hasSize(2));
+        int manyStatements = countStatements(() -> assertThat(assetLoanService.getMyLoans("many.loans")).hasSize(50));
+
+        assertThat(fewStatements).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(manyStatements).isEqualTo(fewStatements);
+    }
+
+    @Test
+    void teamLoansRunConstantStatementsRegardlessOfTeamSize() {
+        when(authService.isManager()).thenReturn(true);
+        User smallTeamManager = persistUser("small.manager", null);
+        User largeTeamManager = persistUser("large.manager", null);
+        persistLoans(persistUser("small.member", smallTeamManager.getId()), smallTeamManager, 3, "SMALL");
+        for (int i = 0; i < 10; i++) {
+            persistLoans(persistUser("large.member." + i, largeTeamManager.getId()), largeTeamManager, 5, "LARGE" + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int smallStatements = countStatements(() -> {
+            List<AssetLoanResponse> loans = assetLoanService.getTeamLoans("small.manager");
+            assertThat(loans).hasSize(3);
+        });
+        int largeStatements = countStatements(() -> {
+            List<AssetLoanResponse> loans = assetLoanService.getTeamLoans("large.manager");
+            assertThat(loans).hasSize(50);
+            assertThat(loans).allSatisfy(loan -> assertThat(loan.getAssetName()).isNotNull());
+        });
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    private static int countStatements(Runnable action) {
+        HibernateStatementCounter.start();
+        action.run();
+        return HibernateStatementCounter.stop();
+    }
+
+    private User persistUser(String username, Long managerId) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setFirstName("Test");
+        user.setLastName(username);
+        user.setPasswordHash("{noop}unused");
+        user.setManagerId(managerId);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        return entityManager.persist(user);
+    }
+
+    private void persistLoans(User borrower, User assigner, int count, String tagPrefix) {
+        for (int i = 0; i < count; i++) {
+            Asset asset = new Asset();
+            asset.setAssetTag(tagPrefix + "-" + i);
+            asset.setName("Asset " + tagPrefix + "-" + i);
+            asset.setStatus(AssetStatus.loaned);
+            asset.setCreatedAt(LocalDateTime.now());
+            entityManager.persist(asset);
+
+            AssetLoan loan = new AssetLoan();
+            loan.setAssetId(asset.getId());
+            loan.setUserId(borrower.getId());
+            loan.setAssignedById(assigner.getId());
+            loan.setStatus(LoanStatus.loaned);
+            loan.setRequestedAt(LocalDateTime.now());
+            loan.setApprovedAt(LocalDateTime.now());
+            loan.setDueAt(LocalDateTime.now().plusDays(5));
+            entityManager.persist(loan);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.asset_management.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A partition counts as done for a run only once it is completed; one whose lease lapsed
+ * mid-walk is claimable again within the same run.
+ */
+@JdbcTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JobLeaseServiceTest {
+
+    private static final String JOB = "lease-test";
+    private static final String RUN_KEY = "2026-10-17";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reclaimsExpiredUncompletedPartitionInTheSameRun() {
+        // A negative TTL makes node A's lease lapse as soon as it is taken, as if A died mid-walk
+        JobLeaseService nodeA = new JobLeaseService(jdbcTemplate, -1);
+        JobLeaseService nodeB = new JobLeaseService(jdbcTemplate, 30);
+
+        assertThat(nodeA.claimPartition(JOB, 1, RUN_KEY)).isZero();
+        assertThat(nodeB.claimPartition(JOB, 1, RUN_KEY)).isZero();
+
+        nodeB.completePartition(JOB, 0, RUN_KEY);
+        // A's late completion no longer matches and nothing is left for this run
+        nodeA.completePartition(JOB, 0, RUN_KEY);
+        assertThat(nodeA.claimPartition(JOB, 1, RUN_KEY)).isNull();
+        assertThat(nodeB.claimPartition(JOB, 1, RUN_KEY)).isNull();
+    }
+
+    @Test
+    void liveLeaseKeepsPartitionFromOtherNodes() {
+        JobLeaseService nodeA = new JobLeaseService(jdbcTemplate, 30);
+        JobLeaseService nodeB = new JobLeaseService(jdbcTemplate, 30);
+
+        assertThat(nodeA.claimPartition(JOB, 1, RUN_KEY)).isZero();
+        assertThat(nodeB.claimPartition(JOB, 1, RUN_KEY)).isNull();
+
+        nodeA.completePartition(JOB, 0, RUN_KEY);
+        assertThat(nodeB.claimPartition(JOB, 1, RUN_KEY)).isNull();
+        assertThat(nodeB.claimPartition(JOB, 1, "2026-10-18")).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.asset_management.service;
+
+import com.example.asset_management.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadCountServiceTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final WebSocketNotificationService webSocketNotificationService = mock(WebSocketNotificationService.class);
+    private final KafkaEventService kafkaEventService = mock(KafkaEventService.class);
+    private final UnreadCountService service = new UnreadCountService(
+            notificationRepository, webSocketNotificationService, kafkaEventService, 1000, 600);
+
+    @Test
+    void incrementAllPublishesOneInvalidationForTheWholeFanOut() {
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(3L);
+        service.getUnreadCount(1L, "manager.one");
+        List<Long> managers = List.of(1L, 2L, 3L, 4L, 5L);
+
+        service.incrementAll(managers);
+
+        assertThat(service.getUnreadCount(1L, "manager.one")).isEqualTo(4);
+        // Only the counter this node holds is pushed, the rest seed lazily
+        verify(webSocketNotificationService).sendUnreadCount("manager.one", 4);
+        verify(webSocketNotificationService, times(1)).sendUnreadCount(anyString(), anyLong());
+        verify(kafkaEventService).publishCacheInvalidationEvent(UnreadCountService.CACHE_NAME, managers, service.getNodeId());
+        verify(kafkaEventService, never()).publishCacheInvalidationEvent(anyString(), any(Long.class), anyString());
+    }
+
+    @Test
+    void refreshAllRecountsHeldCountersWithOneQuery() {
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(1L);
+        when(notificationRepository.countUnreadByUserId(2L)).thenReturn(1L);
+        service.getUnreadCount(1L, "manager.one");
+        service.getUnreadCount(2L, "manager.two");
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                .thenReturn(List.of(unread(1L, 7)));
+
+        service.refreshAll(List.of(1L, 2L, 3L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> queried = ArgumentCaptor.forClass(Collection.class);
+        verify(notificationRepository, times(1)).countUnreadByUserIds(queried.capture());
+        assertThat(queried.getValue()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(service.getUnreadCount(1L, "manager.one")).isEqualTo(7);
+        assertThat(service.getUnreadCount(2L, "manager.two")).isZero();
+    }
+
+    private static NotificationRepository.UserUnreadCount unread(Long userId, long count) {
+        return new NotificationRepository.UserUnreadCount() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    job_name VARCHAR(100) NOT NULL,
+    partition_no INT NOT NULL,
+    owner_id VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL,
+    last_run_key VARCHAR(64) NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (job_name, partition_no)
+);
+
+CREATE TABLE IF NOT EXISTS asset_import_jobs (
+    job_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    file_name VARCHAR(255) NULL,
+    requested_by VARCHAR(100) NOT NULL,
+    node_id VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    rows_processed BIGINT NOT NULL DEFAULT 0,
+    imported_count BIGINT NOT NULL DEFAULT 0,
+    error_count BIGINT NOT NULL DEFAULT 0,
+    errors CLOB NULL,
+    failure_reason CLOB NULL,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- One open loan per asset, as V7 enforces in MySQL; asset_loans comes from Hibernate's DDL and
+-- does not exist in JDBC-only slices, hence the IF EXISTS
+ALTER TABLE IF EXISTS asset_loans ADD COLUMN IF NOT EXISTS active_asset_id BIGINT
+    GENERATED ALWAYS AS (CASE WHEN status IN ('pending_approval', 'loaned', 'overdue') THEN asset_id END);
+ALTER TABLE IF EXISTS asset_loans ADD CONSTRAINT IF NOT EXISTS uk_asset_loans_active_asset
+    UNIQUE (active_asset_id);